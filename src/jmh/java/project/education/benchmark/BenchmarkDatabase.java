@@ -0,0 +1,93 @@
+package project.education.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import project.education.EducationSystemApplication;
+import project.education.seed.DataGenerator;
+import project.education.seed.SeedPlan;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmark state holding an application context started against a seeded file-backed H2 database.
+ * Each scale gets its own database file under {@code build/jmh-db}, which is seeded on first use
+ * by the {@link DataGenerator} and reused by later runs, so only the first run at a scale pays the seeding cost.
+ * The search index of each scale is kept next to its database.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    @Param({"1000", "10000", "100000"})
+    public int students;
+
+    ConfigurableApplicationContext context;
+    SeedPlan plan;
+
+    /**
+     * Starts the application without a web server and seeds the database if it is empty.
+     */
+    @Setup
+    public void start() {
+        String dbDir = System.getProperty("education.benchmark.db-dir", "./build/jmh-db");
+        context = new SpringApplicationBuilder(EducationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:file:" + dbDir + "/education-" + students,
+                        "--education.search.index-dir=" + dbDir + "/search-" + students,
+                        "--education.submissions.ingest.enabled=false",
+                        "--logging.level.root=WARN");
+        plan = SeedPlan.forStudents(students);
+        context.getBean(DataGenerator.class).generate(plan);
+    }
+
+    /**
+     * Stops the application context.
+     */
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * Gets a bean from the application context.
+     *
+     * @param type the type of the bean
+     * @param <T>  the type of the bean
+     * @return the bean
+     */
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Picks a random existing student.
+     *
+     * @return the ID of the student
+     */
+    public long randomStudentId() {
+        return ThreadLocalRandom.current().nextLong(plan.students()) + 1;
+    }
+
+    /**
+     * Picks a random existing course.
+     *
+     * @return the ID of the course
+     */
+    public long randomCourseId() {
+        return ThreadLocalRandom.current().nextLong(plan.courses()) + 1;
+    }
+
+    /**
+     * Picks a random existing task.
+     *
+     * @return the ID of the task
+     */
+    public long randomTaskId() {
+        return ThreadLocalRandom.current().nextLong(plan.tasks()) + 1;
+    }
+}
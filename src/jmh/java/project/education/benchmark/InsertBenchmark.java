@@ -0,0 +1,82 @@
+package project.education.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Task;
+import project.education.repository.CourseRepository;
+import project.education.repository.StudentRepository;
+import project.education.repository.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of inserting new entities through Hibernate: {@value #ROWS} tasks or students per transaction.
+ * The score is the throughput in inserted rows per second, which depends on how IDs are generated
+ * and whether the inserts are sent to the database in JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InsertBenchmark {
+    private static final int ROWS = 500;
+
+    private TransactionTemplate transactionTemplate;
+    private TaskRepository taskRepository;
+    private StudentRepository studentRepository;
+    private CourseRepository courseRepository;
+
+    /**
+     * Looks up the repositories under test.
+     *
+     * @param database the seeded database state
+     */
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        transactionTemplate = database.bean(TransactionTemplate.class);
+        taskRepository = database.bean(TaskRepository.class);
+        studentRepository = database.bean(StudentRepository.class);
+        courseRepository = database.bean(CourseRepository.class);
+    }
+
+    /**
+     * Measures inserting new tasks into a course.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Task> insertTasks(BenchmarkDatabase database) {
+        return transactionTemplate.execute(status -> {
+            Course course = courseRepository.getReferenceById(database.randomCourseId());
+            List<Task> tasks = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                tasks.add(new Task("Benchmark task " + i, "Inserted by the benchmark", course));
+            }
+            return taskRepository.saveAll(tasks);
+        });
+    }
+
+    /**
+     * Measures inserting new students.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Student> insertStudents() {
+        return transactionTemplate.execute(status -> {
+            List<Student> students = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                students.add(new Student("Benchmark student " + i, "benchmark" + i + "@example.com"));
+            }
+            return studentRepository.saveAll(students);
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package project.education.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import project.education.dto.SearchHit;
+import project.education.search.SearchDocumentType;
+import project.education.search.SearchService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the full-text search over the seeded students, teachers, courses and tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+    private SearchService searchService;
+
+    /**
+     * Looks up the search service and makes sure the index covers the seeded database.
+     *
+     * @param database the seeded database state
+     */
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        searchService = database.bean(SearchService.class);
+        searchService.rebuildIfStale();
+    }
+
+    /**
+     * Measures a search for a student by the prefixes of their first and last name.
+     */
+    @Benchmark
+    public List<SearchHit> namePrefix() {
+        return searchService.search("олек шевч", SearchDocumentType.STUDENT, 20);
+    }
+
+    /**
+     * Measures a search for a last name with a typo across all record types.
+     */
+    @Benchmark
+    public List<SearchHit> nameWithTypo() {
+        return searchService.search("Коваленео", null, 20);
+    }
+
+    /**
+     * Measures a search for a student by email.
+     */
+    @Benchmark
+    public List<SearchHit> email(BenchmarkDatabase database) {
+        return searchService.search("student" + database.randomStudentId() + "@example.com", null, 20);
+    }
+}
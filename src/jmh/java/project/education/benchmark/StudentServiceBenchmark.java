@@ -0,0 +1,53 @@
+package project.education.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Slice;
+import project.education.dto.CourseSummary;
+import project.education.service.StudentService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the student-facing course listing and enrollment paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StudentServiceBenchmark {
+    private StudentService studentService;
+
+    /**
+     * Looks up the services under test.
+     *
+     * @param database the seeded database state
+     */
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        studentService = database.bean(StudentService.class);
+    }
+
+    /**
+     * Measures the first page of courses a student can still enroll in.
+     */
+    @Benchmark
+    public Slice<CourseSummary> availableCourses(BenchmarkDatabase database) {
+        return studentService.getAvailableCoursesForStudent(database.randomStudentId(), null, null, 20);
+    }
+
+    /**
+     * Measures an enrollment followed by leaving the course again, so the data set does not drift between iterations.
+     */
+    @Benchmark
+    public void enrollAndLeave(BenchmarkDatabase database) {
+        long studentId = database.randomStudentId();
+        long courseId = database.randomCourseId();
+        studentService.enrollToCourse(studentId, courseId);
+        studentService.leaveCourse(studentId, courseId);
+    }
+}
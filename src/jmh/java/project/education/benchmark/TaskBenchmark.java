@@ -0,0 +1,64 @@
+package project.education.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import project.education.dto.TaskResponseRow;
+import project.education.model.Task;
+import project.education.service.SubmissionService;
+import project.education.service.TaskService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the task paths: listing a course's tasks, submitting an answer and reading the responses page.
+ * Submissions are written synchronously, with the write-behind pipeline disabled, to measure the database cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskBenchmark {
+    private TaskService taskService;
+    private SubmissionService submissionService;
+
+    /**
+     * Looks up the services under test.
+     *
+     * @param database the seeded database state
+     */
+    @Setup
+    public void setUp(BenchmarkDatabase database) {
+        taskService = database.bean(TaskService.class);
+        submissionService = database.bean(SubmissionService.class);
+    }
+
+    /**
+     * Measures loading the tasks of a course.
+     */
+    @Benchmark
+    public List<Task> tasksForCourse(BenchmarkDatabase database) {
+        return taskService.getTasksForCourse(database.randomCourseId());
+    }
+
+    /**
+     * Measures submitting an answer to an active task.
+     */
+    @Benchmark
+    public boolean submit(BenchmarkDatabase database) {
+        return submissionService.submit(database.randomTaskId(), database.randomStudentId(), "Benchmark answer");
+    }
+
+    /**
+     * Measures the first page of responses to a task joined with student names.
+     */
+    @Benchmark
+    public Page<TaskResponseRow> responsesPage(BenchmarkDatabase database) {
+        return submissionService.getResponsesForTask(database.randomTaskId(), 0, 50);
+    }
+}
@@ -0,0 +1,251 @@
+package project.education.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays mixed traffic against a running instance and reports latency percentiles and throughput per endpoint.
+ * <p>
+ * The driver assumes a data set produced by {@code DataGenerator}, where IDs are dense and start at 1.
+ * Options are passed as {@code --name=value}:
+ * <ul>
+ *     <li>{@code base-url} - the address of the instance, default {@code http://localhost:8080}</li>
+ *     <li>{@code duration} - the measured duration in seconds, default 60</li>
+ *     <li>{@code warmup} - the unmeasured warm-up in seconds, default 10</li>
+ *     <li>{@code concurrency} - the number of concurrent clients, default 64</li>
+ *     <li>{@code students}, {@code courses}, {@code tasks-per-course} - the generated data set sizes</li>
+ *     <li>{@code endpoints} - a comma-separated subset of {@link Endpoint} names to send, default all</li>
+ * </ul>
+ */
+public class LoadDriver {
+
+    /**
+     * An endpoint in the traffic mix with its relative weight.
+     */
+    enum Endpoint {
+        STUDENT_ACCOUNT(30),
+        STUDENT_COURSE_PAGE(40),
+        SUBMIT_TASK(20),
+        TASK_RESPONSES(10);
+
+        final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+    private final String baseUrl;
+    private final int students;
+    private final int courses;
+    private final int tasksPerCourse;
+    private final List<Endpoint> mix;
+
+    LoadDriver(String baseUrl, int students, int courses, int tasksPerCourse, List<Endpoint> mix) {
+        this.baseUrl = baseUrl;
+        this.students = students;
+        this.courses = courses;
+        this.tasksPerCourse = tasksPerCourse;
+        this.mix = mix;
+    }
+
+    /**
+     * Creates a driver from the command-line options.
+     *
+     * @param options the parsed options
+     * @param baseUrl the address of the instance
+     * @return the load driver
+     */
+    static LoadDriver fromOptions(Map<String, String> options, String baseUrl) {
+        int students = Integer.parseInt(options.getOrDefault("students", "10000"));
+        List<Endpoint> mix = new ArrayList<>();
+        for (String name : options.getOrDefault("endpoints", "").split(",")) {
+            if (!name.isBlank()) {
+                mix.add(Endpoint.valueOf(name.trim()));
+            }
+        }
+        return new LoadDriver(baseUrl, students,
+                Integer.parseInt(options.getOrDefault("courses", String.valueOf(Math.max(10, students / 20)))),
+                Integer.parseInt(options.getOrDefault("tasks-per-course", "5")),
+                mix.isEmpty() ? List.of(Endpoint.values()) : mix);
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the options of the run
+     * @throws InterruptedException if the driver is interrupted while waiting for the clients
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parse(args);
+        fromOptions(options, options.getOrDefault("base-url", "http://localhost:8080")).measure(options);
+    }
+
+    /**
+     * Warms the instance up, then measures and prints the report.
+     *
+     * @param options the options of the run
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    void measure(Map<String, String> options) throws InterruptedException {
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+
+        System.out.printf("Warming up for %d s with %d clients%n", warmup, concurrency);
+        run(concurrency, warmup);
+        System.out.printf("Measuring for %d s with %d clients%n", duration, concurrency);
+        report(run(concurrency, duration), duration);
+    }
+
+    /**
+     * Runs the clients for the given time.
+     *
+     * @param concurrency the number of concurrent clients
+     * @param seconds     how long the clients send requests
+     * @return the latencies recorded per endpoint
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    Map<Endpoint, LatencyRecorder> run(int concurrency, int seconds) throws InterruptedException {
+        Map<Endpoint, LatencyRecorder> results = new HashMap<>();
+        for (Endpoint endpoint : mix) {
+            results.put(endpoint, new LatencyRecorder());
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Endpoint endpoint = pick();
+                        long start = System.nanoTime();
+                        boolean ok = send(endpoint);
+                        results.get(endpoint).record(System.nanoTime() - start, ok);
+                    }
+                });
+            }
+        }
+        return results;
+    }
+
+    private Endpoint pick() {
+        int total = 0;
+        for (Endpoint endpoint : mix) {
+            total += endpoint.weight;
+        }
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Endpoint endpoint : mix) {
+            roll -= endpoint.weight;
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private boolean send(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long studentId = random.nextLong(students) + 1;
+        long courseId = random.nextLong(courses) + 1;
+        long taskId = (courseId - 1) * tasksPerCourse + random.nextLong(tasksPerCourse) + 1;
+        HttpRequest request = switch (endpoint) {
+            case STUDENT_ACCOUNT -> get("/student/" + studentId);
+            case STUDENT_COURSE_PAGE -> get("/course/student/" + courseId + "?studentId=" + studentId);
+            case SUBMIT_TASK -> HttpRequest.newBuilder(URI.create(baseUrl + "/task/" + taskId + "/submit"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "studentId=" + studentId + "&courseId=" + courseId + "&answer=load-test"))
+                    .build();
+            case TASK_RESPONSES -> get("/task/" + taskId + "/responses?courseId=" + courseId);
+        };
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private void report(Map<Endpoint, LatencyRecorder> results, int seconds) {
+        System.out.printf("%-22s %10s %8s %10s %10s %10s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+        LatencyRecorder total = new LatencyRecorder();
+        for (Endpoint endpoint : mix) {
+            LatencyRecorder recorder = results.get(endpoint);
+            print(endpoint.name(), recorder, seconds);
+            total.addAll(recorder);
+        }
+        print("TOTAL", total, seconds);
+    }
+
+    private static void print(String name, LatencyRecorder recorder, int seconds) {
+        System.out.printf("%-22s %10d %8d %10.1f %10.2f %10.2f%n", name, recorder.count(), recorder.errors(),
+                (double) recorder.count() / seconds, recorder.percentileMillis(50), recorder.percentileMillis(99));
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Collects the latencies of one endpoint.
+     */
+    static class LatencyRecorder {
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+
+        synchronized void record(long nanos, boolean ok) {
+            latencies.add(nanos);
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(LatencyRecorder other) {
+            latencies.addAll(other.latencies);
+            errors += other.errors;
+        }
+
+        synchronized int count() {
+            return latencies.size();
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized double percentileMillis(double percentile) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(latencies);
+            sorted.sort(null);
+            int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+            return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package project.education.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import project.education.EducationSystemApplication;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares request handling on platform threads and on virtual threads.
+ * <p>
+ * The application is started in-process twice against the same generated file database, first with the default
+ * configuration and then with the {@code virtual} profile, and each instance is driven by
+ * the {@link LoadDriver} with the submit and course-page endpoints only. The database is generated on first use.
+ * Accepts the {@link LoadDriver} options plus {@code db}, the path of the database file without extension.
+ */
+public class ThreadModeBenchmark {
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args the options of the run
+     * @throws InterruptedException if interrupted while waiting for the clients
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>(LoadDriver.parse(args));
+        options.putIfAbsent("endpoints", "SUBMIT_TASK,STUDENT_COURSE_PAGE");
+        options.putIfAbsent("concurrency", "400");
+        String db = options.getOrDefault("db", "./build/loadtest-db/education");
+        String students = options.getOrDefault("students", "10000");
+
+        for (boolean virtual : new boolean[]{false, true}) {
+            System.out.printf("=== %s threads%n", virtual ? "Virtual" : "Platform");
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EducationSystemApplication.class)
+                    .run("--server.port=0",
+                            "--spring.profiles.active=" + (virtual ? "virtual" : "default"),
+                            "--spring.datasource.url=jdbc:h2:file:" + db,
+                            "--education.seed.enabled=true",
+                            "--education.seed.students=" + students,
+                            "--education.submissions.ingest.journal=" + db + ".journal",
+                            "--education.search.index-dir=" + db + ".search-index",
+                            "--spring.main.banner-mode=off",
+                            "--logging.level.root=WARN")) {
+                String port = context.getEnvironment().getProperty("local.server.port");
+                LoadDriver.fromOptions(options, "http://localhost:" + port).measure(options);
+            }
+        }
+    }
+}
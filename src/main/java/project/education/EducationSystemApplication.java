@@ -2,12 +2,14 @@ package project.education;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Entry point for the Education System application.
  * This class initializes and runs the Spring Boot application.
  */
 @SpringBootApplication
+@EnableScheduling
 public class EducationSystemApplication {
 
 	/**
@@ -0,0 +1,156 @@
+package project.education.cluster;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Task;
+import project.education.model.Teacher;
+
+import java.time.Instant;
+
+/**
+ * Publishes the students, teachers, courses and tasks changed through Hibernate once their transaction commits,
+ * and evicts the courses and teachers changed by the other instances from the second-level cache.
+ * Cached query results are evicted as a whole, because the update timestamps that normally expire them are local.
+ * <p>
+ * An instance may still cache an entity it read just before another instance committed a change to it,
+ * if the invalidation overtakes the read; such entries expire with their cache region.
+ * When reads are routed to replicas, an entity or query result read from a replica that has not yet received
+ * the change could be cached again, so the evictions are repeated once the replicas may have caught up.
+ */
+@Component
+public class EntityInvalidationListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+    private final InvalidationBus invalidationBus;
+    private final Cache cache;
+    private final TaskScheduler taskScheduler;
+    private final long replicaMaxLagMs;
+
+    /**
+     * Constructs a new {@code EntityInvalidationListener} and registers it with Hibernate and the bus.
+     *
+     * @param invalidationBus      the bus sharing invalidations with the other instances
+     * @param entityManagerFactory the entity manager factory whose changes are published
+     * @param taskScheduler        the scheduler repeating evictions after the replica lag
+     * @param replicaMaxLagMs      the longest time the read replicas lag behind the primary, or 0 without replicas
+     */
+    public EntityInvalidationListener(InvalidationBus invalidationBus, EntityManagerFactory entityManagerFactory,
+                                      TaskScheduler taskScheduler,
+                                      @Value("${education.datasource.replica-max-lag-ms:0}") long replicaMaxLagMs) {
+        this.invalidationBus = invalidationBus;
+        this.taskScheduler = taskScheduler;
+        this.replicaMaxLagMs = replicaMaxLagMs;
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cache = sessionFactory.getCache();
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        invalidationBus.subscribe(this::apply);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    /**
+     * Asks Hibernate to notify this listener only about the entities other instances cache.
+     *
+     * @param persister the persister of the changed entity
+     * @return true if changes of the entity are published
+     */
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return kind(persister.getMappedClass()) != null;
+    }
+
+    private void publish(Object entity, Object id) {
+        InvalidationEvent.Kind kind = kind(entity.getClass());
+        if (kind != null && id instanceof Long entityId) {
+            InvalidationEvent event = InvalidationEvent.of(kind, entityId);
+            invalidationBus.publish(event);
+            evictAfterReplicaLag(event);
+        }
+    }
+
+    private void apply(InvalidationEvent event) {
+        evict(event);
+        evictAfterReplicaLag(event);
+    }
+
+    private void evictAfterReplicaLag(InvalidationEvent event) {
+        if (replicaMaxLagMs > 0 && (event.kind() == InvalidationEvent.Kind.COURSE
+                || event.kind() == InvalidationEvent.Kind.TEACHER || event.kind() == InvalidationEvent.Kind.ALL)) {
+            taskScheduler.schedule(() -> evict(event), Instant.now().plusMillis(replicaMaxLagMs));
+        }
+    }
+
+    private void evict(InvalidationEvent event) {
+        switch (event.kind()) {
+            case COURSE -> {
+                event.ids().forEach(id -> cache.evictEntityData(Course.class, id));
+                cache.evictQueryRegions();
+            }
+            case TEACHER -> {
+                event.ids().forEach(id -> cache.evictEntityData(Teacher.class, id));
+                cache.evictQueryRegions();
+            }
+            case ALL -> cache.evictAllRegions();
+            default -> {
+            }
+        }
+    }
+
+    private static InvalidationEvent.Kind kind(Class<?> type) {
+        if (type == Student.class) {
+            return InvalidationEvent.Kind.STUDENT;
+        }
+        if (type == Teacher.class) {
+            return InvalidationEvent.Kind.TEACHER;
+        }
+        if (type == Course.class) {
+            return InvalidationEvent.Kind.COURSE;
+        }
+        if (type == Task.class) {
+            return InvalidationEvent.Kind.TASK;
+        }
+        return null;
+    }
+}
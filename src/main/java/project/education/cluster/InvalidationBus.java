@@ -0,0 +1,32 @@
+package project.education.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidation events between the instances of the application that share a database.
+ * <p>
+ * Every instance keeps caches of its own: the Hibernate second-level and query caches, the rendered
+ * page fragments and the search index. An instance invalidates its own caches directly and publishes
+ * the change, so the other instances invalidate theirs. Events are published after the transaction
+ * that made the change commits, and an instance does not receive its own events.
+ * <p>
+ * The implementation is chosen with {@code education.cluster.bus}: {@code none} for a single instance,
+ * {@code jvm} for instances started in the same JVM, or {@code udp} for instances exchanging datagrams.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Sends an event to the other instances.
+     *
+     * @param event the event to send
+     */
+    void publish(InvalidationEvent event);
+
+    /**
+     * Registers a subscriber of the events published by the other instances.
+     * Subscribers may be called from any thread and must not block for long.
+     *
+     * @param subscriber the subscriber
+     */
+    void subscribe(Consumer<InvalidationEvent> subscriber);
+}
@@ -0,0 +1,66 @@
+package project.education.cluster;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A change made by one application instance that the other instances must reflect in their local caches.
+ *
+ * @param kind what changed
+ * @param ids  the IDs of the changed records; empty for {@link Kind#CATALOG} and {@link Kind#ALL}
+ */
+public record InvalidationEvent(Kind kind, List<Long> ids) {
+
+    /**
+     * What an event invalidates.
+     */
+    public enum Kind {
+        /** Students were inserted, updated or deleted. */
+        STUDENT,
+        /** Teachers were inserted, updated or deleted. */
+        TEACHER,
+        /** Courses were inserted, updated or deleted. */
+        COURSE,
+        /** Tasks were inserted, updated or deleted. */
+        TASK,
+        /** The students of courses changed. */
+        ROSTER,
+        /** The courses of students changed. */
+        ENROLLMENTS,
+        /** Course titles or teacher names shown in course lists changed. */
+        CATALOG,
+        /** Changes may have been missed, so every cache must be cleared. */
+        ALL
+    }
+
+    /**
+     * Creates an event about records.
+     *
+     * @param kind what changed
+     * @param ids  the IDs of the changed records
+     * @return the event
+     */
+    public static InvalidationEvent of(Kind kind, Collection<Long> ids) {
+        return new InvalidationEvent(kind, List.copyOf(ids));
+    }
+
+    /**
+     * Creates an event about a single record.
+     *
+     * @param kind what changed
+     * @param id   the ID of the changed record
+     * @return the event
+     */
+    public static InvalidationEvent of(Kind kind, long id) {
+        return new InvalidationEvent(kind, List.of(id));
+    }
+
+    /**
+     * Creates an event that clears every cache.
+     *
+     * @return the event
+     */
+    public static InvalidationEvent all() {
+        return new InvalidationEvent(Kind.ALL, List.of());
+    }
+}
@@ -0,0 +1,72 @@
+package project.education.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus between application contexts started in the same JVM, for example by tests.
+ * Instances with the same {@code education.cluster.name} receive each other's events;
+ * events are delivered synchronously on the publishing thread.
+ */
+@Component
+@ConditionalOnProperty(name = "education.cluster.bus", havingValue = "jvm")
+public class JvmInvalidationBus implements InvalidationBus, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(JvmInvalidationBus.class);
+
+    private static final Map<String, Set<JvmInvalidationBus>> CLUSTERS = new ConcurrentHashMap<>();
+
+    private final String clusterName;
+    private final List<Consumer<InvalidationEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new {@code JvmInvalidationBus} and joins its cluster.
+     *
+     * @param clusterName the name of the cluster of instances sharing events
+     */
+    public JvmInvalidationBus(@Value("${education.cluster.name:education}") String clusterName) {
+        this.clusterName = clusterName;
+        CLUSTERS.computeIfAbsent(clusterName, name -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        for (JvmInvalidationBus member : CLUSTERS.getOrDefault(clusterName, Set.of())) {
+            if (member != this) {
+                member.deliver(event);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Leaves the cluster when the application context is closed.
+     */
+    @Override
+    public void close() {
+        CLUSTERS.getOrDefault(clusterName, Set.of()).remove(this);
+    }
+
+    private void deliver(InvalidationEvent event) {
+        for (Consumer<InvalidationEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Cannot apply {} invalidation", event.kind(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package project.education.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * The bus of a single instance, which has nobody to send events to. Used unless {@code education.cluster.bus} is set.
+ */
+@Component
+@ConditionalOnProperty(name = "education.cluster.bus", havingValue = "none", matchIfMissing = true)
+public class LocalInvalidationBus implements InvalidationBus {
+
+    @Override
+    public void publish(InvalidationEvent event) {
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> subscriber) {
+    }
+}
@@ -0,0 +1,247 @@
+package project.education.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus sending events as UDP datagrams to a fixed list of peers, for example:
+ * <pre>
+ * education.cluster.bus=udp
+ * education.cluster.udp.port=7401
+ * education.cluster.udp.peers=app1:7401,app2:7401,app3:7401
+ * education.cluster.udp.heartbeat-ms=1000
+ * </pre>
+ * Every instance may be given the same peer list, as datagrams an instance receives from itself are ignored.
+ * <p>
+ * Datagrams are numbered per sender. A receiver that finds a number missing, because a datagram was lost,
+ * treats it as an {@link InvalidationEvent.Kind#ALL} event and clears its caches. Every instance also sends
+ * a heartbeat with the number of its last datagram at a fixed interval, so a datagram lost before a quiet
+ * period is detected within that interval rather than when the sender next writes. Datagrams sent before
+ * the receiver first heard of a sender are not detected as lost; they only matter if the receiver was
+ * running and caching at the time, for example when a peer restarts during a network partition.
+ */
+@Component
+@ConditionalOnProperty(name = "education.cluster.bus", havingValue = "udp")
+public class UdpInvalidationBus implements InvalidationBus, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(UdpInvalidationBus.class);
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final int MAX_IDS_PER_DATAGRAM = 1000;
+    private static final int MAX_DATAGRAM_SIZE = 65507;
+
+    private final UUID instanceId = UUID.randomUUID();
+    private final List<InetSocketAddress> peers;
+    private final DatagramSocket socket;
+    private final Thread receiver;
+    private final List<Consumer<InvalidationEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final Map<UUID, Long> lastSequences = new ConcurrentHashMap<>();
+
+    private long sequence;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new {@code UdpInvalidationBus} and starts receiving events.
+     *
+     * @param port  the UDP port to receive events on, or 0 for any free port
+     * @param peers the comma-separated {@code host:port} addresses of the instances to send events to
+     */
+    public UdpInvalidationBus(@Value("${education.cluster.udp.port:7401}") int port,
+                              @Value("${education.cluster.udp.peers:}") String peers) {
+        this.peers = parsePeers(peers);
+        try {
+            socket = new DatagramSocket(port);
+        } catch (SocketException e) {
+            throw new UncheckedIOException("Cannot listen for cache invalidations on UDP port " + port, e);
+        }
+        receiver = new Thread(this::receive, "cluster-invalidation");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("Exchanging cache invalidations on UDP port {} with {}", socket.getLocalPort(), this.peers);
+    }
+
+    /**
+     * Sends an event to every peer, split into several datagrams if it has many IDs.
+     * A failure to send to a peer is logged; the peer then detects the lost datagram by its number.
+     *
+     * @param event the event to send
+     */
+    @Override
+    public synchronized void publish(InvalidationEvent event) {
+        List<Long> ids = event.ids();
+        int from = 0;
+        do {
+            int to = Math.min(ids.size(), from + MAX_IDS_PER_DATAGRAM);
+            send(encode(++sequence, event.kind(), ids.subList(from, to)), event.kind().name());
+            from = to;
+        } while (from < ids.size());
+    }
+
+    /**
+     * Sends the number of the last datagram to every peer, so a peer that lost it clears its caches
+     * without waiting for the next event.
+     */
+    @Scheduled(fixedDelayString = "${education.cluster.udp.heartbeat-ms:1000}")
+    public synchronized void sendHeartbeat() {
+        send(encode(sequence, null, List.of()), "heartbeat");
+    }
+
+    /**
+     * Returns the UDP port this bus receives events on.
+     *
+     * @return the local port
+     */
+    int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Stops receiving events when the application context is closed.
+     *
+     * @throws InterruptedException if interrupted while waiting for the receiving thread to stop
+     */
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        socket.close();
+        receiver.join();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                handle(Arrays.copyOf(packet.getData(), packet.getLength()));
+            } catch (IOException | RuntimeException e) {
+                if (running) {
+                    log.warn("Cannot receive cache invalidation", e);
+                }
+            }
+        }
+    }
+
+    private void send(byte[] datagram, String what) {
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(datagram, datagram.length, peer));
+            } catch (IOException e) {
+                log.warn("Cannot send {} invalidation to {}", what, peer, e);
+            }
+        }
+    }
+
+    private void handle(byte[] datagram) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(datagram));
+        if (in.readByte() != FORMAT_VERSION) {
+            log.warn("Ignoring cache invalidation of unknown format");
+            return;
+        }
+        UUID sender = new UUID(in.readLong(), in.readLong());
+        if (sender.equals(instanceId)) {
+            return;
+        }
+        long number = in.readLong();
+        if (!in.readBoolean()) {
+            Long last = lastSequences.get(sender);
+            if (last == null || number > last) {
+                lastSequences.put(sender, number);
+            }
+            if (last != null && number > last) {
+                log.warn("Missed {} cache invalidations from {}, clearing caches", number - last, sender);
+                deliver(InvalidationEvent.all());
+            }
+            return;
+        }
+        InvalidationEvent.Kind kind = InvalidationEvent.Kind.valueOf(in.readUTF());
+        int count = in.readInt();
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(in.readLong());
+        }
+        Long last = lastSequences.get(sender);
+        if (last == null || number > last) {
+            lastSequences.put(sender, number);
+        }
+        if (last != null && number > last + 1) {
+            log.warn("Missed {} cache invalidations from {}, clearing caches", number - last - 1, sender);
+            deliver(InvalidationEvent.all());
+        }
+        deliver(new InvalidationEvent(kind, ids));
+    }
+
+    private void deliver(InvalidationEvent event) {
+        for (Consumer<InvalidationEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Cannot apply {} invalidation", event.kind(), e);
+            }
+        }
+    }
+
+    private byte[] encode(long number, InvalidationEvent.Kind kind, List<Long> ids) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + 8 * ids.size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(instanceId.getMostSignificantBits());
+            out.writeLong(instanceId.getLeastSignificantBits());
+            out.writeLong(number);
+            out.writeBoolean(kind != null);
+            if (kind != null) {
+                out.writeUTF(kind.name());
+                out.writeInt(ids.size());
+                for (long id : ids) {
+                    out.writeLong(id);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<InetSocketAddress> parsePeers(String peers) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String peer : peers.split(",")) {
+            if (peer.isBlank()) {
+                continue;
+            }
+            int colon = peer.lastIndexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Peer " + peer + " must be given as host:port");
+            }
+            addresses.add(new InetSocketAddress(peer.substring(0, colon).strip(),
+                    Integer.parseInt(peer.substring(colon + 1).strip())));
+        }
+        return addresses;
+    }
+}
@@ -0,0 +1,60 @@
+package project.education.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import jakarta.persistence.Entity;
+
+import java.io.IOException;
+
+/**
+ * Jackson module that refuses to serialize JPA entities, including Hibernate proxies of them.
+ * JSON responses must be built from DTO records, so lazy associations are never loaded by serialization.
+ */
+public class EntitySerializationGuard extends SimpleModule {
+
+    /**
+     * Constructs a new {@code EntitySerializationGuard}.
+     */
+    public EntitySerializationGuard() {
+        super("EntitySerializationGuard");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                                                      JsonSerializer<?> serializer) {
+                return isEntity(description.getBeanClass()) ? new RejectingSerializer() : serializer;
+            }
+        });
+    }
+
+    private static boolean isEntity(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            if (current.isAnnotationPresent(Entity.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Serializer that fails for every value it is asked to write.
+     */
+    private static class RejectingSerializer extends StdSerializer<Object> {
+
+        RejectingSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            throw JsonMappingException.from(generator, "Entity " + value.getClass().getName()
+                    + " must not be serialized to JSON; return a DTO instead");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package project.education.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson configuration of the JSON API.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Registers the module that refuses to serialize JPA entities.
+     *
+     * @return the entity serialization guard
+     */
+    @Bean
+    public Module entitySerializationGuard() {
+        return new EntitySerializationGuard();
+    }
+
+    /**
+     * Serializes all fields of DTOs with the {@code "fields"} filter unless a response selects fields explicitly.
+     *
+     * @return the customizer of the object mapper
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer defaultFieldsFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter("fields", SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,67 @@
+package project.education.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves submissions from the legacy {@code student_answers} and {@code student_task_statuses}
+ * collection tables of {@code Task} into the {@code task_submission} table.
+ * The migration runs once on startup; the legacy tables are dropped after their rows are copied.
+ */
+@Component
+public class LegacySubmissionMigration implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(LegacySubmissionMigration.class);
+
+    private static final String COPY_SUBMISSIONS = """
+            INSERT INTO task_submission (task_id, student_id, answer, completed, submitted_at)
+            SELECT k.task_id, k.student_id, a.answer, COALESCE(st.status, FALSE), CURRENT_TIMESTAMP
+            FROM (SELECT task_id, student_id FROM student_answers
+                  UNION
+                  SELECT task_id, student_id FROM student_task_statuses) k
+            LEFT JOIN student_answers a ON a.task_id = k.task_id AND a.student_id = k.student_id
+            LEFT JOIN student_task_statuses st ON st.task_id = k.task_id AND st.student_id = k.student_id
+            WHERE NOT EXISTS (SELECT 1 FROM task_submission s
+                              WHERE s.task_id = k.task_id AND s.student_id = k.student_id)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a new {@code LegacySubmissionMigration}.
+     *
+     * @param jdbcTemplate        the template used to run the migration statements
+     * @param transactionTemplate the template used to copy the rows in one transaction
+     */
+    public LegacySubmissionMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Copies the legacy submissions if the legacy tables are still present.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!tableExists("STUDENT_ANSWERS") || !tableExists("STUDENT_TASK_STATUSES")) {
+            return;
+        }
+        Integer copied = transactionTemplate.execute(status -> jdbcTemplate.update(COPY_SUBMISSIONS));
+        jdbcTemplate.execute("DROP TABLE student_task_statuses");
+        jdbcTemplate.execute("DROP TABLE student_answers");
+        log.info("Migrated {} legacy submissions into task_submission", copied);
+    }
+
+    private boolean tableExists(String name) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = ?", Integer.class, name);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,80 @@
+package project.education.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import project.education.fragment.FragmentCache;
+import project.education.service.SubmissionIngestService;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of application metrics exposed on the Prometheus endpoint.
+ * Endpoint latency, repository invocation timers, connection pool metrics and Hibernate session statistics
+ * are provided by Spring Boot, the latter only where {@code hibernate.generate_statistics} is enabled;
+ * this class adds SQL statement counting, the submission backlog and the rendered fragment cache.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Creates the counter of SQL statements executed per request.
+     *
+     * @return the statement counter
+     */
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    /**
+     * Wraps the data source of the application, the bean named {@code dataSource}, so that the statements of
+     * Hibernate and of the JDBC repositories are counted alike. Other data sources, such as the pools behind
+     * the replica routing data source, are left as they are, so no statement is counted twice.
+     *
+     * @param sqlStatementCounter the statement counter, looked up when the data source is created
+     * @return the post-processor wrapping the data source
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor(
+            ObjectProvider<SqlStatementCounter> sqlStatementCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return new StatementCountingDataSource(dataSource, sqlStatementCounter.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Exposes the number of accepted submissions that are not yet written to the database.
+     *
+     * @param ingestService the submission ingestion pipeline
+     * @return the backlog gauge binder
+     */
+    @Bean
+    public MeterBinder submissionBacklogMetrics(SubmissionIngestService ingestService) {
+        return registry -> Gauge.builder("education.submissions.backlog", ingestService, SubmissionIngestService::getBacklogSize)
+                .description("Accepted submissions not yet written to the database")
+                .register(registry);
+    }
+
+    /**
+     * Binds the hit, miss and eviction counts of the rendered fragment cache as {@code cache.*} metrics
+     * named {@code fragments}.
+     *
+     * @param fragmentCache the cache of rendered page fragments
+     * @return the cache metrics binder
+     */
+    @Bean
+    public MeterBinder fragmentCacheMetrics(FragmentCache fragmentCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, fragmentCache.getCache(), "fragments");
+    }
+}
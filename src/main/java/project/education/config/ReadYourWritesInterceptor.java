@@ -0,0 +1,80 @@
+package project.education.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Sends the reads of a client that has just written to the primary database, so the page it is redirected to
+ * after a form submission shows its change even if the replicas have not received it yet.
+ * <p>
+ * A request with a method other than GET or HEAD may write, so it reads from the primary itself and sets a cookie
+ * holding the time until which the replicas may still lag behind its writes. Requests carrying a cookie that
+ * has not expired read from the primary too. The cookie is honoured by every instance of the application.
+ * <p>
+ * The choice is held by the request thread. A request that continues asynchronously, such as a streamed export,
+ * releases it when the handler returns, so the container thread does not carry it into an unrelated request.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+    static final String COOKIE = "education-primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final long replicaMaxLagMs;
+
+    /**
+     * Constructs a new {@code ReadYourWritesInterceptor}.
+     *
+     * @param replicaMaxLagMs the longest time the replicas are expected to lag behind the primary
+     */
+    public ReadYourWritesInterceptor(long replicaMaxLagMs) {
+        this.replicaMaxLagMs = replicaMaxLagMs;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.currentTimeMillis();
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(now + replicaMaxLagMs));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.ceilDiv(replicaMaxLagMs, 1000));
+            response.addCookie(cookie);
+            ReplicaRoutingDataSource.pinToPrimary();
+        } else if (primaryUntil(request) > now) {
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
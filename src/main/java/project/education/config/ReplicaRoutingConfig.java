@@ -0,0 +1,100 @@
+package project.education.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration sending the read-only transactions of the services to read replicas of the database,
+ * enabled by listing the replicas in {@code education.datasource.replica-urls}.
+ * <p>
+ * The replicas use the credentials and pool settings of the primary. Writes, and the reads of a client
+ * within {@code education.datasource.replica-max-lag-ms} of its last write, go to the primary.
+ */
+@Configuration
+@ConditionalOnExpression("!'${education.datasource.replica-urls:}'.isBlank()")
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+    private final long replicaMaxLagMs;
+
+    /**
+     * Constructs a new {@code ReplicaRoutingConfig}.
+     *
+     * @param replicaMaxLagMs the longest time the replicas are expected to lag behind the primary
+     * @throws IllegalArgumentException if the lag is not positive
+     */
+    public ReplicaRoutingConfig(@Value("${education.datasource.replica-max-lag-ms:0}") long replicaMaxLagMs) {
+        if (replicaMaxLagMs <= 0) {
+            throw new IllegalArgumentException("education.datasource.replica-max-lag-ms must be positive with replicas");
+        }
+        this.replicaMaxLagMs = replicaMaxLagMs;
+    }
+
+    /**
+     * Creates the connection pool of the primary database from the {@code spring.datasource} properties.
+     *
+     * @param properties the data source properties
+     * @return the pool of the primary
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Creates the data source routing read-only transactions to the replicas.
+     *
+     * @param primaryDataSource the pool of the primary
+     * @param replicaUrls       the comma-separated JDBC URLs of the replicas
+     * @return the routing data source
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             @Value("${education.datasource.replica-urls}") String replicaUrls) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        String poolName = primaryDataSource.getPoolName() == null ? "education" : primaryDataSource.getPoolName();
+        for (String url : replicaUrls.split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(url.strip());
+            config.setPoolName(poolName + "-replica-" + (replicas.size() + 1));
+            config.setReadOnly(true);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    /**
+     * Creates the data source used by the application, which obtains a connection from the routing data source
+     * only when the first statement runs, after the transaction has been marked read-only or not.
+     *
+     * @param replicaRoutingDataSource the routing data source
+     * @return the data source of the application
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(replicaMaxLagMs));
+    }
+}
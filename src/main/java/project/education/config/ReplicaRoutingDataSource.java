@@ -0,0 +1,96 @@
+package project.education.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Routes the connections of read-only transactions to the replicas, taking them in turn,
+ * and every other connection to the primary.
+ * <p>
+ * The decision is made when a statement first needs a connection, so this data source must be wrapped in a
+ * {@link LazyConnectionDataSourceProxy}: a transaction obtains its connection before it is marked read-only.
+ * Work running without a transaction, such as plain JDBC repositories called outside a service, uses the primary.
+ * A thread can be pinned to the primary with {@link #onPrimary} or {@link #pinToPrimary}, so reads that must
+ * see its latest writes, or whose results are cached until the next write, do not see a lagging replica.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final String PRIMARY = "primary";
+    private static final ThreadLocal<Boolean> PINNED = ThreadLocal.withInitial(() -> false);
+
+    private final List<HikariDataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructs a new {@code ReplicaRoutingDataSource}.
+     *
+     * @param primary  the data source of the primary database
+     * @param replicas the data sources of the replicas, closed with this data source
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas) {
+        this.replicas = List.copyOf(replicas);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs an action whose reads must come from the primary, even in read-only transactions.
+     *
+     * @param action the action to run
+     * @param <T>    the type of the result
+     * @return the result of the action
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        boolean pinned = PINNED.get();
+        PINNED.set(true);
+        try {
+            return action.get();
+        } finally {
+            PINNED.set(pinned);
+        }
+    }
+
+    /**
+     * Sends every read of the current thread to the primary until {@link #unpin} is called.
+     */
+    public static void pinToPrimary() {
+        PINNED.set(true);
+    }
+
+    /**
+     * Lets the read-only transactions of the current thread use the replicas again.
+     */
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || PINNED.get() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    /**
+     * Closes the connection pools of the replicas when the application context is closed.
+     */
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
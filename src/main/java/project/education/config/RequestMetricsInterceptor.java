@@ -0,0 +1,74 @@
+package project.education.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per-handler metrics that the standard {@code http.server.requests} timer does not cover:
+ * the number of SQL statements executed by the request and the time spent rendering its view.
+ */
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+    private static final String RENDER_START = RequestMetricsInterceptor.class.getName() + ".renderStart";
+    private static final String VIEW_NAME = RequestMetricsInterceptor.class.getName() + ".viewName";
+
+    private final MeterRegistry registry;
+    private final SqlStatementCounter statementCounter;
+
+    /**
+     * Constructs a new {@code RequestMetricsInterceptor}.
+     *
+     * @param registry         the registry the metrics are recorded in
+     * @param statementCounter the counter of SQL statements executed on the request thread
+     */
+    public RequestMetricsInterceptor(MeterRegistry registry, SqlStatementCounter statementCounter) {
+        this.registry = registry;
+        this.statementCounter = statementCounter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statementCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getViewName() != null) {
+            request.setAttribute(VIEW_NAME, modelAndView.getViewName());
+            request.setAttribute(RENDER_START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        String handlerName = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        DistributionSummary.builder("education.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("handler", handlerName)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(statementCounter.get());
+        Object renderStart = request.getAttribute(RENDER_START);
+        if (renderStart instanceof Long start) {
+            Timer.builder("education.view.render")
+                    .description("Time spent rendering the view of a request")
+                    .tag("view", String.valueOf(request.getAttribute(VIEW_NAME)))
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
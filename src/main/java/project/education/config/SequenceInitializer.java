@@ -0,0 +1,60 @@
+package project.education.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.repository.SequenceRepository;
+
+import java.util.Map;
+
+/**
+ * Moves the ID sequences past the existing rows when the application starts.
+ * Tables that were filled by identity columns keep their IDs after switching to a sequence,
+ * and Hibernate creates new sequences starting at 1, so without this the first inserts would reuse existing IDs.
+ * Runs after the schema is updated and before the web server accepts requests.
+ */
+@Component
+public class SequenceInitializer implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(SequenceInitializer.class);
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            Teacher.ID_SEQUENCE, "teacher",
+            Course.ID_SEQUENCE, "course",
+            Task.ID_SEQUENCE, "task",
+            Student.ID_SEQUENCE, "student");
+
+    private final SequenceRepository sequenceRepository;
+
+    /**
+     * Constructs a new {@code SequenceInitializer}.
+     *
+     * @param sequenceRepository the repository used to move the sequences
+     */
+    public SequenceInitializer(SequenceRepository sequenceRepository) {
+        this.sequenceRepository = sequenceRepository;
+    }
+
+    /**
+     * Aligns every ID sequence with its table.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        alignAll();
+    }
+
+    /**
+     * Aligns every ID sequence with its table, for example after rows were inserted with explicit IDs.
+     */
+    public void alignAll() {
+        SEQUENCES.forEach((sequence, table) -> {
+            if (sequenceRepository.alignWithTable(sequence, table)) {
+                log.info("Moved sequence {} past the existing rows of {}", sequence, table);
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package project.education.config;
+
+/**
+ * Counts the SQL statements executed on the current thread, whether they come from Hibernate or from
+ * the JDBC repositories. The statements are counted by {@link StatementCountingDataSource}.
+ * The count is reset at the start of each web request and recorded when the request completes,
+ * so N+1 query regressions show up as a growing statement count per endpoint.
+ */
+public class SqlStatementCounter {
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Counts one statement on the current thread.
+     */
+    void increment() {
+        COUNT.get()[0]++;
+    }
+
+    /**
+     * Resets the statement count of the current thread.
+     */
+    public void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * Gets the number of statements executed on the current thread since the last reset.
+     *
+     * @return the statement count
+     */
+    public int get() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,85 @@
+package project.education.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source counting the SQL statements sent through its connections in a {@link SqlStatementCounter}.
+ * A prepared or callable statement is counted when it is prepared, however many batched rows it carries;
+ * a plain statement is counted each time it is executed.
+ * <p>
+ * It extends {@link DelegatingDataSource}, so the connection pool behind it is still found by the pool metrics.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+    private final SqlStatementCounter counter;
+
+    /**
+     * Constructs a new {@code StatementCountingDataSource}.
+     *
+     * @param target  the data source whose connections are counted
+     * @param counter the counter the statements are added to
+     */
+    public StatementCountingDataSource(DataSource target, SqlStatementCounter counter) {
+        super(target);
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            String name = method.getName();
+            if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                counter.increment();
+            }
+            Object result = invoke(target, method, args);
+            if (name.equals("createStatement")) {
+                return proxy(Statement.class, (Statement) result, (statement, statementMethod, statementArgs) -> {
+                    if (statementMethod.getName().startsWith("execute")) {
+                        counter.increment();
+                    }
+                    return invoke(statement, statementMethod, statementArgs);
+                });
+            }
+            return result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, TargetHandler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.invoke(target, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface TargetHandler<T> {
+        Object invoke(T target, Method method, Object[] args) throws Throwable;
+    }
+}
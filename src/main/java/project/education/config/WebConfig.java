@@ -0,0 +1,31 @@
+package project.education.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration of the application.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementCounter sqlStatementCounter;
+
+    /**
+     * Constructs a new {@code WebConfig}.
+     *
+     * @param meterRegistry       the registry request metrics are recorded in
+     * @param sqlStatementCounter the counter of SQL statements per request
+     */
+    public WebConfig(MeterRegistry meterRegistry, SqlStatementCounter sqlStatementCounter) {
+        this.meterRegistry = meterRegistry;
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry, sqlStatementCounter));
+    }
+}
@@ -0,0 +1,56 @@
+package project.education.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controller exposing hit and miss statistics of the Hibernate second-level and query caches.
+ * The counts stay at zero unless {@code hibernate.generate_statistics} is enabled, as in the prod profile.
+ */
+@RestController
+public class CacheStatisticsController {
+    private final Statistics statistics;
+
+    /**
+     * Constructor to initialize the Hibernate statistics.
+     *
+     * @param entityManagerFactory the entity manager factory whose statistics are exposed
+     */
+    public CacheStatisticsController(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Returns cache statistics per region together with query cache totals.
+     *
+     * @return whether statistics are collected, and a map of region names to their hit, miss and put counts
+     */
+    @GetMapping("/stats/cache")
+    public Map<String, Object> getCacheStatistics() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.put(region, Map.of(
+                        "hits", regionStatistics.getHitCount(),
+                        "misses", regionStatistics.getMissCount(),
+                        "puts", regionStatistics.getPutCount()));
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("regions", regions);
+        result.put("queryCache", Map.of(
+                "hits", statistics.getQueryCacheHitCount(),
+                "misses", statistics.getQueryCacheMissCount(),
+                "puts", statistics.getQueryCachePutCount()));
+        return result;
+    }
+}
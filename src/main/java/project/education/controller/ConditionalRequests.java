@@ -0,0 +1,34 @@
+package project.education.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Helper for answering conditional GET requests of server-rendered pages.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Checks the {@code If-None-Match} header of a request against the current entity tag of a page.
+     * The entity tag is added to the response, and browsers are asked to revalidate the page on every use.
+     * When this returns true, the response status is already set to {@code 304} and the handler should return null.
+     *
+     * @param request the current request
+     * @param etag    the current entity tag of the page, or null if it is unknown
+     * @return true if the client's copy is up to date
+     */
+    static boolean isNotModified(ServletWebRequest request, String etag) {
+        if (etag == null) {
+            return false;
+        }
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        return request.checkNotModified(etag);
+    }
+}
@@ -1,18 +1,30 @@
 package project.education.controller;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import project.education.fragment.FragmentCache;
+import project.education.fragment.FragmentRenderer;
 import project.education.model.Course;
 import project.education.model.Task;
 import project.education.model.Teacher;
 import project.education.model.Student;
 import project.education.service.CourseService;
+import project.education.service.ExportFormat;
+import project.education.service.PageVersionService;
 import project.education.service.TeacherService;
 import project.education.service.StudentService;
+import project.education.service.SubmissionExportService;
+import project.education.service.SubmissionService;
 import project.education.service.TaskService;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Controller for handling requests related to courses.
@@ -25,20 +37,38 @@ public class CourseController {
     private final TeacherService teacherService;
     private final TaskService taskService;
     private final StudentService studentService;
+    private final SubmissionService submissionService;
+    private final PageVersionService pageVersionService;
+    private final SubmissionExportService exportService;
+    private final FragmentCache fragmentCache;
+    private final FragmentRenderer fragmentRenderer;
 
     /**
      * Constructor to initialize the required services.
      *
-     * @param courseService  service for managing courses
-     * @param teacherService service for managing teachers
-     * @param taskService    service for managing tasks
-     * @param studentService service for managing students
+     * @param courseService      service for managing courses
+     * @param teacherService     service for managing teachers
+     * @param taskService        service for managing tasks
+     * @param studentService     service for managing students
+     * @param submissionService  service for managing submissions
+     * @param pageVersionService service providing entity tags of pages
+     * @param exportService      service for exporting submissions
+     * @param fragmentCache      cache of rendered page fragments
+     * @param fragmentRenderer   renderer of page fragments
      */
-    public CourseController(CourseService courseService, TeacherService teacherService, TaskService taskService, StudentService studentService) {
+    public CourseController(CourseService courseService, TeacherService teacherService, TaskService taskService,
+                            StudentService studentService, SubmissionService submissionService,
+                            PageVersionService pageVersionService, SubmissionExportService exportService,
+                            FragmentCache fragmentCache, FragmentRenderer fragmentRenderer) {
         this.courseService = courseService;
         this.teacherService = teacherService;
         this.taskService = taskService;
         this.studentService = studentService;
+        this.submissionService = submissionService;
+        this.pageVersionService = pageVersionService;
+        this.exportService = exportService;
+        this.fragmentCache = fragmentCache;
+        this.fragmentRenderer = fragmentRenderer;
     }
 
     /**
@@ -50,9 +80,8 @@ public class CourseController {
      */
     @GetMapping("/{id}")
     public String getCoursePage(@PathVariable Long id, Model model) {
-        Course course = courseService.getCourseById(id);
-        model.addAttribute("course", course);
-        model.addAttribute("students", course.getStudents());
+        model.addAttribute("course", courseService.getCourseWithTeacher(id));
+        model.addAttribute("roster", renderRoster(id));
         return "student_courses";
     }
 
@@ -85,21 +114,26 @@ public class CourseController {
 
     /**
      * Retrieves the course page for a specific student.
+     * The roster and the task descriptions are shared by all students and served from the fragment cache;
+     * the status and actions of each task are rendered for the student on every request.
      *
      * @param courseId  the ID of the course
      * @param studentId the ID of the student
-     * @param model     the model to populate with course, task, and student data
+     * @param model     the model to populate with course, task, student, and task completion data
      * @return the view name for the student course page
      */
     @GetMapping("/student/{courseId}")
     public String getStudentCoursePage(@PathVariable Long courseId, @RequestParam Long studentId, Model model) {
-        Course course = courseService.getCourseById(courseId);
+        Course course = courseService.getCourseWithTeacher(courseId);
         List<Task> tasks = taskService.getTasksForCourse(courseId);
         Student student = studentService.getStudentById(studentId);
         model.addAttribute("tasks", tasks);
+        model.addAttribute("taskCells", renderTasks("studentTaskCells", courseId, tasks));
+        model.addAttribute("completedTaskIds",
+                submissionService.getCompletedTaskIds(studentId, tasks.stream().map(Task::getId).toList()));
         model.addAttribute("course", course);
         model.addAttribute("student", student);
-        model.addAttribute("students", course.getStudents());
+        model.addAttribute("roster", renderRoster(courseId));
         model.addAttribute("studentId", studentId);
         return "student_courses";
     }
@@ -107,17 +141,61 @@ public class CourseController {
     /**
      * Retrieves the course page for a specific teacher.
      *
+     * Answers {@code 304 Not Modified} when neither the course, its tasks nor its students changed.
+     * Otherwise the roster and the task rows are served from the fragment cache and only the progress is rendered.
+     *
      * @param courseId the ID of the course
      * @param model    the model to populate with course, student, and task data
-     * @return the view name for the teacher course page
+     * @param request  the current request, used for conditional GET
+     * @return the view name for the teacher course page, or null if the page is not modified
      */
     @GetMapping("/teacher/{courseId}")
-    public String getTeacherCoursePage(@PathVariable Long courseId, Model model) {
-        Course course = courseService.getCourseById(courseId);
-        model.addAttribute("course", course);
-        model.addAttribute("students", course.getStudents());
-        model.addAttribute("tasks", taskService.getTasksByCourseId(courseId));
+    public String getTeacherCoursePage(@PathVariable Long courseId, Model model, ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(request, pageVersionService.getCoursePageEtag(courseId))) {
+            return null;
+        }
+        List<Task> tasks = taskService.getTasksByCourseId(courseId);
+        model.addAttribute("course", courseService.getCourseWithTeacher(courseId));
+        model.addAttribute("roster", renderRoster(courseId));
+        model.addAttribute("tasks", tasks);
+        model.addAttribute("taskCells", renderTasks("teacherTaskCells", courseId, tasks));
+        model.addAttribute("taskActions", renderTasks("teacherTaskActions", courseId, tasks));
+        model.addAttribute("progress", taskService.getCourseProgress(courseId));
         return "teacher_courses";
     }
 
+    private String renderRoster(Long courseId) {
+        return fragmentCache.getRoster(courseId, () -> fragmentRenderer.render("roster",
+                Map.of("students", studentService.getStudentsInCourse(courseId))));
+    }
+
+    private Map<Long, String> renderTasks(String fragment, Long courseId, List<Task> tasks) {
+        Map<Long, String> rendered = new HashMap<>();
+        for (Task task : tasks) {
+            rendered.put(task.getId(), fragmentCache.getTask(fragment, task.getId(), task.getVersion(),
+                    () -> fragmentRenderer.render(fragment, Map.of("task", task, "courseId", courseId))));
+        }
+        return rendered;
+    }
+
+    /**
+     * Downloads all responses to the tasks of a course as a file streamed while the responses are read.
+     *
+     * @param courseId the ID of the course
+     * @param format   the file format, {@code csv} or {@code ndjson}
+     * @return the streamed export, 400 for an unknown format or 404 if the course does not exist
+     */
+    @GetMapping("/{courseId}/responses/export")
+    public ResponseEntity<StreamingResponseBody> exportResponses(@PathVariable Long courseId,
+                                                                 @RequestParam(defaultValue = "csv") String format) {
+        Optional<ExportFormat> exportFormat = ExportFormat.fromExtension(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (courseService.findCourseSummary(courseId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ExportResponses.attachment("course-" + courseId + "-responses", exportFormat.get(),
+                out -> exportService.exportCourse(courseId, exportFormat.get(), out));
+    }
 }
@@ -0,0 +1,36 @@
+package project.education.controller;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import project.education.service.ExportFormat;
+
+/**
+ * Helper for answering answer export requests with a streamed file download.
+ */
+final class ExportResponses {
+
+    private ExportResponses() {
+    }
+
+    /**
+     * Builds a download response whose body is written directly to the response stream.
+     *
+     * @param baseName the file name without extension
+     * @param format   the format of the export
+     * @param body     the callback writing the export
+     * @return the response entity
+     */
+    static ResponseEntity<StreamingResponseBody> attachment(String baseName, ExportFormat format,
+                                                            StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(baseName + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,25 @@
+package project.education.controller;
+
+/**
+ * Limits on the number of items shown per page, shared by the page controllers and the API.
+ * Keeps a request from loading a whole table in one page, and from failing with a page size below one.
+ */
+public final class PageSizes {
+    /**
+     * The largest number of items served per page.
+     */
+    public static final int MAX = 100;
+
+    private PageSizes() {
+    }
+
+    /**
+     * Limits a requested page size to the range from 1 to {@link #MAX}.
+     *
+     * @param size the requested page size
+     * @return the page size to use
+     */
+    public static int clamp(int size) {
+        return Math.clamp(size, 1, MAX);
+    }
+}
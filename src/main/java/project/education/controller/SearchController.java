@@ -0,0 +1,51 @@
+package project.education.controller;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import project.education.search.SearchDocumentType;
+import project.education.search.SearchService;
+
+/**
+ * Controller for the full-text search across students, teachers, courses and tasks.
+ */
+@Controller
+@RequestMapping("/search")
+public class SearchController {
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchService searchService;
+
+    /**
+     * Constructor to initialize the required services.
+     *
+     * @param searchService service for searching records
+     */
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Displays the search form and the records best matching the query.
+     *
+     * @param q     the words to search for; words may be prefixes or contain a typo
+     * @param type  the type of records to search, or null for all types
+     * @param limit the maximum number of results
+     * @param model the model to populate with the results
+     * @return the view name for the search page
+     */
+    @GetMapping
+    public String search(@RequestParam(required = false) String q,
+                         @RequestParam(required = false) SearchDocumentType type,
+                         @RequestParam(defaultValue = "20") int limit, Model model) {
+        long started = System.nanoTime();
+        model.addAttribute("hits", searchService.search(q, type, Math.max(1, Math.min(limit, MAX_LIMIT))));
+        model.addAttribute("tookMs", (System.nanoTime() - started) / 1_000_000);
+        model.addAttribute("q", q);
+        model.addAttribute("type", type);
+        model.addAttribute("types", SearchDocumentType.values());
+        return "search";
+    }
+}
@@ -1,5 +1,6 @@
 package project.education.controller;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,42 +8,75 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import project.education.dto.CourseSummary;
+import project.education.fragment.FragmentCache;
+import project.education.fragment.FragmentRenderer;
 import project.education.model.Student;
-import project.education.service.CourseService;
+import project.education.roster.RosterImportService;
+import project.education.service.PageVersionService;
 import project.education.service.StudentService;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
 /**
  * Controller for managing student-related operations.
- * Provides functionality for viewing, adding, updating, and deleting students,
+ * Provides functionality for viewing, adding, importing, updating, and deleting students,
  * as well as enrolling or unenrolling them in courses.
  */
 @Controller
 @RequestMapping("/student")
 public class StudentController {
     private final StudentService studentService;
-    private final CourseService courseService;
+    private final PageVersionService pageVersionService;
+    private final RosterImportService rosterImportService;
+    private final FragmentCache fragmentCache;
+    private final FragmentRenderer fragmentRenderer;
 
     /**
      * Constructor to initialize the required services.
      *
-     * @param studentService service for managing students
-     * @param courseService  service for managing courses
+     * @param studentService      service for managing students
+     * @param pageVersionService  service providing entity tags of pages
+     * @param rosterImportService service for importing student rosters
+     * @param fragmentCache       cache of rendered page fragments
+     * @param fragmentRenderer    renderer of page fragments
      */
-    public StudentController(StudentService studentService, CourseService courseService) {
+    public StudentController(StudentService studentService, PageVersionService pageVersionService,
+                             RosterImportService rosterImportService, FragmentCache fragmentCache,
+                             FragmentRenderer fragmentRenderer) {
         this.studentService = studentService;
-        this.courseService = courseService;
+        this.pageVersionService = pageVersionService;
+        this.rosterImportService = rosterImportService;
+        this.fragmentCache = fragmentCache;
+        this.fragmentRenderer = fragmentRenderer;
     }
 
     /**
-     * Displays the page with the list of all students and available courses.
+     * Displays one slice of the student list, starting after the given student ID.
+     * The slice size is limited to 1 to {@link PageSizes#MAX}.
      *
-     * @param model the model to populate with student and course data
+     * @param after the ID of the last student on the previous slice, or null for the first slice
+     * @param size  the number of students per slice
+     * @param model the model to populate with student data and page controls
      * @return the view name for the students page
      */
     @GetMapping
-    public String getStudentsPage(Model model) {
-        model.addAttribute("students", studentService.getAllStudents());
-        model.addAttribute("courses", courseService.getAllCourses());
+    public String getStudentsPage(@RequestParam(required = false) Long after,
+                                  @RequestParam(defaultValue = "50") int size, Model model) {
+        int pageSize = PageSizes.clamp(size);
+        Slice<Student> students = studentService.getStudentsAfter(after, pageSize);
+        model.addAttribute("students", students.getContent());
+        model.addAttribute("after", after);
+        model.addAttribute("size", pageSize);
+        if (students.hasNext()) {
+            model.addAttribute("nextAfter", students.getContent().get(students.getNumberOfElements() - 1).getId());
+        }
         return "student";
     }
 
@@ -59,19 +93,59 @@ public class StudentController {
         return "redirect:/student";
     }
 
+    /**
+     * Imports students and their enrollments from an uploaded roster CSV file with the fields
+     * {@code name,email,course_ids}, where course IDs are separated by semicolons.
+     *
+     * @param file  the uploaded roster file, encoded in UTF-8
+     * @param model the model to populate with the import report
+     * @return the view name for the import report page
+     * @throws IOException if the uploaded file cannot be read
+     */
+    @PostMapping("/import")
+    public String importRoster(@RequestParam("file") MultipartFile file, Model model) throws IOException {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            model.addAttribute("report", rosterImportService.importRoster(reader));
+        }
+        model.addAttribute("fileName", file.getOriginalFilename());
+        return "import_report";
+    }
+
     /**
      * Displays the account page for a specific student.
      *
-     * @param id    the ID of the student
-     * @param model the model to populate with student and course data
-     * @return the view name for the student account page
+     * Answers {@code 304 Not Modified} when neither the student, their enrollments nor the course catalog changed.
+     * The list of enrolled courses is served from the fragment cache.
+     * The slice size of the available courses is limited to 1 to {@link PageSizes#MAX}.
+     *
+     * @param id      the ID of the student
+     * @param after   the ID of the last available course on the previous slice, or null for the first slice
+     * @param title   a fragment of the course title to filter available courses by
+     * @param size    the number of available courses per slice
+     * @param model   the model to populate with student and course data
+     * @param request the current request, used for conditional GET
+     * @return the view name for the student account page, or null if the page is not modified
      */
     @GetMapping("/{id}")
-    public String getStudentAccount(@PathVariable Long id, Model model) {
+    public String getStudentAccount(@PathVariable Long id, @RequestParam(required = false) Long after,
+                                    @RequestParam(required = false) String title,
+                                    @RequestParam(defaultValue = "20") int size, Model model, ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(request, pageVersionService.getStudentPageEtag(id))) {
+            return null;
+        }
         Student student = studentService.getStudentById(id);
+        int pageSize = PageSizes.clamp(size);
+        Slice<CourseSummary> availableCourses = studentService.getAvailableCoursesForStudent(id, after, title, pageSize);
         model.addAttribute("student", student);
-        model.addAttribute("courses", student.getCourses());
-        model.addAttribute("availableCourses", studentService.getAvailableCoursesForStudent(id));
+        model.addAttribute("enrolledCourses", fragmentCache.getEnrollments(id, () -> fragmentRenderer.render(
+                "enrolledCourses", Map.of("studentId", id, "courses", studentService.getEnrolledCourses(id)))));
+        model.addAttribute("availableCourses", availableCourses.getContent());
+        model.addAttribute("after", after);
+        model.addAttribute("title", title);
+        model.addAttribute("size", pageSize);
+        if (availableCourses.hasNext()) {
+            model.addAttribute("nextAfter", availableCourses.getContent().get(availableCourses.getNumberOfElements() - 1).id());
+        }
         return "student_account";
     }
 
@@ -1,38 +1,48 @@
 package project.education.controller;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import project.education.model.Course;
-import project.education.model.Student;
 import project.education.model.Task;
 import project.education.service.CourseService;
+import project.education.service.ExportFormat;
+import project.education.service.SubmissionExportService;
+import project.education.service.SubmissionService;
 import project.education.service.TaskService;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
 
 /**
  * Controller for handling operations related to tasks.
  * Provides functionality for adding, deleting, activating, deactivating tasks,
- * viewing student responses, and submitting task responses.
+ * viewing and exporting student responses, and submitting task responses.
  */
 @Controller
 @RequestMapping("/task")
 public class TaskController {
+
     private final TaskService taskService;
     private final CourseService courseService;
+    private final SubmissionService submissionService;
+    private final SubmissionExportService exportService;
 
     /**
      * Constructor to initialize the required services.
      *
-     * @param taskService   service for managing tasks
-     * @param courseService service for managing courses
+     * @param taskService       service for managing tasks
+     * @param courseService     service for managing courses
+     * @param submissionService service for managing submissions
+     * @param exportService     service for exporting submissions
      */
-    public TaskController(TaskService taskService, CourseService courseService) {
+    public TaskController(TaskService taskService, CourseService courseService, SubmissionService submissionService,
+                          SubmissionExportService exportService) {
         this.taskService = taskService;
         this.courseService = courseService;
+        this.submissionService = submissionService;
+        this.exportService = exportService;
     }
 
     /**
@@ -93,28 +103,51 @@ public class TaskController {
     }
 
     /**
-     * Displays student responses to a specific task.
+     * Displays a page of student responses to a specific task.
+     * A negative page number is taken as the first page and the page size is limited to 1 to 100.
      *
      * @param taskId   the ID of the task
      * @param courseId the ID of the course the task belongs to
+     * @param page     the zero-based page number
+     * @param size     the number of responses per page
      * @param model    the model to populate with task and student response data
      * @return the view name for displaying task responses
      */
     @GetMapping("/{taskId}/responses")
-    public String viewResponses(@PathVariable Long taskId, @RequestParam Long courseId, Model model) {
+    public String viewResponses(@PathVariable Long taskId, @RequestParam Long courseId,
+                                @RequestParam(defaultValue = "0") int page,
+                                @RequestParam(defaultValue = "50") int size, Model model) {
         Task task = taskService.getTaskById(taskId);
         if (task != null) {
-            Map<Long, String> responses = task.getStudentAnswers();
-            Set<Long> studentIds = responses.keySet();
-            List<Student> students = taskService.getStudentsByIds(studentIds);
-            model.addAttribute("responses", responses);
-            model.addAttribute("students", students);
+            model.addAttribute("responses", submissionService.getResponsesForTask(taskId, Math.max(page, 0),
+                    PageSizes.clamp(size)));
         }
         model.addAttribute("task", task);
         model.addAttribute("courseId", courseId);
         return "responses";
     }
 
+    /**
+     * Downloads all responses to a specific task as a file streamed while the responses are read.
+     *
+     * @param taskId the ID of the task
+     * @param format the file format, {@code csv} or {@code ndjson}
+     * @return the streamed export, 400 for an unknown format or 404 if the task does not exist
+     */
+    @GetMapping("/{taskId}/responses/export")
+    public ResponseEntity<StreamingResponseBody> exportResponses(@PathVariable Long taskId,
+                                                                 @RequestParam(defaultValue = "csv") String format) {
+        Optional<ExportFormat> exportFormat = ExportFormat.fromExtension(format);
+        if (exportFormat.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (taskService.findTaskSummary(taskId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ExportResponses.attachment("task-" + taskId + "-responses", exportFormat.get(),
+                out -> exportService.exportTask(taskId, exportFormat.get(), out));
+    }
+
     /**
      * Displays the page for a student to execute a specific task.
      *
@@ -144,12 +177,7 @@ public class TaskController {
      */
     @PostMapping("/{taskId}/submit")
     public String submitTask(@PathVariable Long taskId, @RequestParam Long studentId, @RequestParam Long courseId, @RequestParam String answer) {
-        Task task = taskService.getTaskById(taskId);
-        if (task != null && task.isActive()) {
-            task.addStudentResponse(studentId, answer);
-            task.setStudentStatus(studentId, true);
-            taskService.saveTask(task);
-        }
+        submissionService.submit(taskId, studentId, answer);
         return "redirect:/course/student/" + courseId + "?studentId=" + studentId;
     }
 }
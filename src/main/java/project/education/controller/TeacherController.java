@@ -1,5 +1,6 @@
 package project.education.controller;
 
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -7,10 +8,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import project.education.model.Teacher;
 import project.education.model.Course;
 import project.education.service.TeacherService;
 import project.education.service.CourseService;
+import project.education.service.PageVersionService;
 
 /**
  * Controller for managing teacher-related operations.
@@ -22,40 +25,60 @@ import project.education.service.CourseService;
 public class TeacherController {
     private final TeacherService teacherService;
     private final CourseService courseService;
+    private final PageVersionService pageVersionService;
 
     /**
      * Constructor to initialize the required services.
      *
-     * @param teacherService service for managing teachers
-     * @param courseService  service for managing courses
+     * @param teacherService     service for managing teachers
+     * @param courseService      service for managing courses
+     * @param pageVersionService service providing entity tags of pages
      */
-    public TeacherController(TeacherService teacherService, CourseService courseService) {
+    public TeacherController(TeacherService teacherService, CourseService courseService,
+                             PageVersionService pageVersionService) {
         this.teacherService = teacherService;
         this.courseService = courseService;
+        this.pageVersionService = pageVersionService;
     }
 
     /**
-     * Displays the page with the list of all teachers and courses.
+     * Displays one slice of the teacher list, starting after the given teacher ID.
+     * The slice size is limited to 1 to {@link PageSizes#MAX}.
      *
-     * @param model the model to populate with teacher and course data
+     * @param after the ID of the last teacher on the previous slice, or null for the first slice
+     * @param size  the number of teachers per slice
+     * @param model the model to populate with teacher data and page controls
      * @return the view name for the teachers page
      */
     @GetMapping
-    public String getTeachersPage(Model model) {
-        model.addAttribute("teachers", teacherService.getAllTeachers());
-        model.addAttribute("courses", courseService.getAllCourses());
+    public String getTeachersPage(@RequestParam(required = false) Long after,
+                                  @RequestParam(defaultValue = "50") int size, Model model) {
+        int pageSize = PageSizes.clamp(size);
+        Slice<Teacher> teachers = teacherService.getTeachersAfter(after, pageSize);
+        model.addAttribute("teachers", teachers.getContent());
+        model.addAttribute("after", after);
+        model.addAttribute("size", pageSize);
+        if (teachers.hasNext()) {
+            model.addAttribute("nextAfter", teachers.getContent().get(teachers.getNumberOfElements() - 1).getId());
+        }
         return "teacher";
     }
 
     /**
      * Displays the account page for a specific teacher.
      *
-     * @param id    the ID of the teacher
-     * @param model the model to populate with teacher and course data
-     * @return the view name for the teacher account page
+     * Answers {@code 304 Not Modified} when neither the teacher nor their courses changed.
+     *
+     * @param id      the ID of the teacher
+     * @param model   the model to populate with teacher and course data
+     * @param request the current request, used for conditional GET
+     * @return the view name for the teacher account page, or null if the page is not modified
      */
     @GetMapping("/{id}")
-    public String getTeacherAccount(@PathVariable Long id, Model model) {
+    public String getTeacherAccount(@PathVariable Long id, Model model, ServletWebRequest request) {
+        if (ConditionalRequests.isNotModified(request, pageVersionService.getTeacherPageEtag(id))) {
+            return null;
+        }
         Teacher teacher = teacherService.getTeacherById(id);
         model.addAttribute("teacher", teacher);
         model.addAttribute("courses", courseService.getCoursesByTeacherId(id));
@@ -0,0 +1,13 @@
+package project.education.controller.api;
+
+import java.util.List;
+
+/**
+ * A page of API results with the cursor of the next page.
+ *
+ * @param items      the items of the page
+ * @param nextCursor the opaque cursor to pass as {@code cursor} for the next page, or null on the last page
+ * @param <T>        the type of the items
+ */
+public record ApiPage<T>(List<T> items, String nextCursor) {
+}
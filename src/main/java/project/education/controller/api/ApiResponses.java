@@ -0,0 +1,95 @@
+package project.education.controller.api;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import project.education.controller.PageSizes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Helpers shared by the API controllers: cursor encoding, page size limits and field selection.
+ * <p>
+ * Cursors are the URL-safe Base64 encoding of the last key of the previous page, so clients treat them as opaque.
+ * Field selection relies on the {@code "fields"} Jackson filter declared on the DTO records.
+ */
+final class ApiResponses {
+    static final String FIELDS_FILTER = "fields";
+
+    private ApiResponses() {
+    }
+
+    /**
+     * Decodes a cursor into the key after which the next page starts.
+     *
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @return the key of the last item of the previous page, or null for the first page
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
+    static Long afterId(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    /**
+     * Limits a requested page size to the allowed range.
+     *
+     * @param size the requested page size
+     * @return the page size to use
+     */
+    static int pageSize(int size) {
+        return PageSizes.clamp(size);
+    }
+
+    /**
+     * Builds a page response from a slice.
+     *
+     * @param slice  the slice returned by the service
+     * @param keyOf  the function returning the pagination key of an item
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @param <T>    the type of the items
+     * @return the response body with the field selection applied
+     */
+    static <T> MappingJacksonValue page(Slice<T> slice, Function<T, Long> keyOf, String fields) {
+        List<T> items = slice.getContent();
+        String nextCursor = slice.hasNext() && !items.isEmpty()
+                ? Base64.getUrlEncoder().withoutPadding().encodeToString(
+                        keyOf.apply(items.getLast()).toString().getBytes(StandardCharsets.US_ASCII))
+                : null;
+        return withFields(new ApiPage<>(items, nextCursor), fields);
+    }
+
+    /**
+     * Builds a single-item response.
+     *
+     * @param item            the item, or empty if it does not exist
+     * @param fields          a comma-separated list of fields to return, or null for all fields
+     * @param notFoundMessage the message of the error returned when the item does not exist
+     * @return the response body with the field selection applied
+     * @throws ResourceNotFoundException if the item does not exist
+     */
+    static MappingJacksonValue item(Optional<?> item, String fields, String notFoundMessage) {
+        return withFields(item.orElseThrow(() -> new ResourceNotFoundException(notFoundMessage)), fields);
+    }
+
+    private static MappingJacksonValue withFields(Object body, String fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        SimpleBeanPropertyFilter filter = fields == null || fields.isBlank()
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(Set.of(fields.split("\\s*,\\s*")));
+        value.setFilters(new SimpleFilterProvider().addFilter(FIELDS_FILTER, filter));
+        return value;
+    }
+}
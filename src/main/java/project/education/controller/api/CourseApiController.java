@@ -0,0 +1,103 @@
+package project.education.controller.api;
+
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import project.education.dto.CourseSummary;
+import project.education.dto.StudentSummary;
+import project.education.dto.TaskSummary;
+import project.education.service.CourseService;
+import project.education.service.StudentService;
+import project.education.service.TaskService;
+
+/**
+ * Read-only API for courses, their tasks and their students.
+ */
+@RestController
+@RequestMapping("/api/v1/courses")
+public class CourseApiController {
+    private final CourseService courseService;
+    private final TaskService taskService;
+    private final StudentService studentService;
+
+    /**
+     * Constructor to initialize the services.
+     *
+     * @param courseService  the service for managing courses
+     * @param taskService    the service for managing tasks
+     * @param studentService the service for managing students
+     */
+    public CourseApiController(CourseService courseService, TaskService taskService, StudentService studentService) {
+        this.courseService = courseService;
+        this.taskService = taskService;
+        this.studentService = studentService;
+    }
+
+    /**
+     * Returns a page of courses ordered by ID.
+     *
+     * @param cursor the cursor of the page, or null for the first page
+     * @param size   the maximum number of courses in the page
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @return a page of courses
+     */
+    @GetMapping
+    public MappingJacksonValue listCourses(@RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "20") int size,
+                                           @RequestParam(required = false) String fields) {
+        return ApiResponses.page(courseService.getCourseSummaries(ApiResponses.afterId(cursor), ApiResponses.pageSize(size)),
+                CourseSummary::id, fields);
+    }
+
+    /**
+     * Returns a course by ID.
+     *
+     * @param id     the ID of the course
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @return the course
+     */
+    @GetMapping("/{id}")
+    public MappingJacksonValue getCourse(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        return ApiResponses.item(courseService.findCourseSummary(id), fields, "Курс не знайдено");
+    }
+
+    /**
+     * Returns a page of the tasks of a course ordered by ID.
+     *
+     * @param id     the ID of the course
+     * @param cursor the cursor of the page, or null for the first page
+     * @param size   the maximum number of tasks in the page
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @return a page of tasks
+     */
+    @GetMapping("/{id}/tasks")
+    public MappingJacksonValue listTasks(@PathVariable Long id,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "20") int size,
+                                         @RequestParam(required = false) String fields) {
+        return ApiResponses.page(taskService.getTaskSummaries(id, ApiResponses.afterId(cursor), ApiResponses.pageSize(size)),
+                TaskSummary::id, fields);
+    }
+
+    /**
+     * Returns a page of the students enrolled in a course ordered by ID.
+     *
+     * @param id     the ID of the course
+     * @param cursor the cursor of the page, or null for the first page
+     * @param size   the maximum number of students in the page
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @return a page of students
+     */
+    @GetMapping("/{id}/students")
+    public MappingJacksonValue listStudents(@PathVariable Long id,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "20") int size,
+                                            @RequestParam(required = false) String fields) {
+        return ApiResponses.page(
+                studentService.getStudentSummariesInCourse(id, ApiResponses.afterId(cursor), ApiResponses.pageSize(size)),
+                StudentSummary::id, fields);
+    }
+}
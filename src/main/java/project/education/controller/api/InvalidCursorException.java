@@ -0,0 +1,18 @@
+package project.education.controller.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a pagination cursor passed to the API cannot be decoded.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructs a new exception with the default message.
+     */
+    public InvalidCursorException() {
+        super("Некоректний курсор сторінки");
+    }
+}
@@ -0,0 +1,20 @@
+package project.education.controller.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a resource requested through the API does not exist.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ResourceNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new exception with the specified message.
+     *
+     * @param message the message describing the missing resource
+     */
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
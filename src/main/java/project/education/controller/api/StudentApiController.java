@@ -0,0 +1,56 @@
+package project.education.controller.api;
+
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import project.education.dto.StudentSummary;
+import project.education.service.StudentService;
+
+/**
+ * Read-only API for students.
+ */
+@RestController
+@RequestMapping("/api/v1/students")
+public class StudentApiController {
+    private final StudentService studentService;
+
+    /**
+     * Constructor to initialize the student service.
+     *
+     * @param studentService the service for managing students
+     */
+    public StudentApiController(StudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    /**
+     * Returns a page of students ordered by ID.
+     *
+     * @param cursor the cursor of the page, or null for the first page
+     * @param size   the maximum number of students in the page
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @return a page of students
+     */
+    @GetMapping
+    public MappingJacksonValue listStudents(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "20") int size,
+                                            @RequestParam(required = false) String fields) {
+        return ApiResponses.page(studentService.getStudentSummaries(ApiResponses.afterId(cursor), ApiResponses.pageSize(size)),
+                StudentSummary::id, fields);
+    }
+
+    /**
+     * Returns a student by ID.
+     *
+     * @param id     the ID of the student
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @return the student
+     */
+    @GetMapping("/{id}")
+    public MappingJacksonValue getStudent(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        return ApiResponses.item(studentService.findStudentSummary(id), fields, "Студента не знайдено");
+    }
+}
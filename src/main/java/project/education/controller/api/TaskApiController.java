@@ -0,0 +1,63 @@
+package project.education.controller.api;
+
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import project.education.dto.SubmissionSummary;
+import project.education.service.SubmissionService;
+import project.education.service.TaskService;
+
+/**
+ * Read-only API for tasks and their submissions.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks")
+public class TaskApiController {
+    private final TaskService taskService;
+    private final SubmissionService submissionService;
+
+    /**
+     * Constructor to initialize the services.
+     *
+     * @param taskService       the service for managing tasks
+     * @param submissionService the service for managing submissions
+     */
+    public TaskApiController(TaskService taskService, SubmissionService submissionService) {
+        this.taskService = taskService;
+        this.submissionService = submissionService;
+    }
+
+    /**
+     * Returns a task by ID.
+     *
+     * @param id     the ID of the task
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @return the task
+     */
+    @GetMapping("/{id}")
+    public MappingJacksonValue getTask(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        return ApiResponses.item(taskService.findTaskSummary(id), fields, "Завдання не знайдено");
+    }
+
+    /**
+     * Returns a page of the submissions for a task ordered by student ID.
+     *
+     * @param id     the ID of the task
+     * @param cursor the cursor of the page, or null for the first page
+     * @param size   the maximum number of submissions in the page
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @return a page of submissions
+     */
+    @GetMapping("/{id}/submissions")
+    public MappingJacksonValue listSubmissions(@PathVariable Long id,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "20") int size,
+                                               @RequestParam(required = false) String fields) {
+        return ApiResponses.page(
+                submissionService.getSubmissionSummaries(id, ApiResponses.afterId(cursor), ApiResponses.pageSize(size)),
+                SubmissionSummary::studentId, fields);
+    }
+}
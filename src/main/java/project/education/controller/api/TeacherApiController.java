@@ -0,0 +1,56 @@
+package project.education.controller.api;
+
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import project.education.dto.TeacherSummary;
+import project.education.service.TeacherService;
+
+/**
+ * Read-only API for teachers.
+ */
+@RestController
+@RequestMapping("/api/v1/teachers")
+public class TeacherApiController {
+    private final TeacherService teacherService;
+
+    /**
+     * Constructor to initialize the teacher service.
+     *
+     * @param teacherService the service for managing teachers
+     */
+    public TeacherApiController(TeacherService teacherService) {
+        this.teacherService = teacherService;
+    }
+
+    /**
+     * Returns a page of teachers ordered by ID.
+     *
+     * @param cursor the cursor of the page, or null for the first page
+     * @param size   the maximum number of teachers in the page
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @return a page of teachers
+     */
+    @GetMapping
+    public MappingJacksonValue listTeachers(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "20") int size,
+                                            @RequestParam(required = false) String fields) {
+        return ApiResponses.page(teacherService.getTeacherSummaries(ApiResponses.afterId(cursor), ApiResponses.pageSize(size)),
+                TeacherSummary::id, fields);
+    }
+
+    /**
+     * Returns a teacher by ID.
+     *
+     * @param id     the ID of the teacher
+     * @param fields a comma-separated list of fields to return, or null for all fields
+     * @return the teacher
+     */
+    @GetMapping("/{id}")
+    public MappingJacksonValue getTeacher(@PathVariable Long id, @RequestParam(required = false) String fields) {
+        return ApiResponses.item(teacherService.findTeacherSummary(id), fields, "Викладача не знайдено");
+    }
+}
@@ -0,0 +1,13 @@
+package project.education.dto;
+
+import java.util.Map;
+
+/**
+ * Progress of a course for the teacher dashboard, read from the maintained counters.
+ *
+ * @param enrolledCount     the number of students enrolled in the course
+ * @param completionPercent the share of task completions out of all possible ones, from 0 to 100
+ * @param tasks             the progress of each task of the course, keyed by task ID
+ */
+public record CourseProgressSummary(long enrolledCount, int completionPercent, Map<Long, TaskProgressRow> tasks) {
+}
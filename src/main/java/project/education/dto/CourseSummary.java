@@ -0,0 +1,14 @@
+package project.education.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * A lightweight view of a course for listings: the course and the name of its teacher.
+ *
+ * @param id          the ID of the course
+ * @param title       the title of the course
+ * @param teacherName the name of the teacher of the course
+ */
+@JsonFilter("fields")
+public record CourseSummary(Long id, String title, String teacherName) {
+}
@@ -0,0 +1,23 @@
+package project.education.dto;
+
+import project.education.search.SearchDocumentType;
+
+/**
+ * A ready-to-render search result.
+ *
+ * @param type   the type of the found record
+ * @param id     the ID of the found record
+ * @param title  the name or title of the found record
+ * @param detail the email of a person or the description of a task, or null
+ */
+public record SearchHit(SearchDocumentType type, long id, String title, String detail) {
+
+    /**
+     * Builds the link to the page of the found record.
+     *
+     * @return the path of the page
+     */
+    public String link() {
+        return type.link(id);
+    }
+}
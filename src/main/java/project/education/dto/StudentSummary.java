@@ -0,0 +1,14 @@
+package project.education.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * A lightweight view of a student.
+ *
+ * @param id    the ID of the student
+ * @param name  the name of the student
+ * @param email the email of the student
+ */
+@JsonFilter("fields")
+public record StudentSummary(Long id, String name, String email) {
+}
@@ -0,0 +1,18 @@
+package project.education.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One exported answer: a submission joined with the title of its task and the name of its student.
+ *
+ * @param taskId      the ID of the task
+ * @param taskTitle   the title of the task
+ * @param studentId   the ID of the student
+ * @param studentName the name of the student, or null if the student no longer exists
+ * @param answer      the student's answer
+ * @param completed   whether the task is completed by the student
+ * @param submittedAt when the answer was submitted
+ */
+public record SubmissionExportRow(Long taskId, String taskTitle, Long studentId, String studentName, String answer,
+                                  boolean completed, LocalDateTime submittedAt) {
+}
@@ -0,0 +1,18 @@
+package project.education.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A lightweight view of the submission of a student for a task.
+ *
+ * @param taskId      the ID of the task
+ * @param studentId   the ID of the student
+ * @param answer      the answer of the student
+ * @param completed   whether the task is completed
+ * @param submittedAt when the answer was submitted
+ */
+@JsonFilter("fields")
+public record SubmissionSummary(Long taskId, Long studentId, String answer, boolean completed, LocalDateTime submittedAt) {
+}
@@ -0,0 +1,11 @@
+package project.education.dto;
+
+/**
+ * A ready-to-render row of the course progress dashboard: how many enrolled students completed a task.
+ *
+ * @param taskId         the ID of the task
+ * @param completedCount the number of completed submissions for the task
+ * @param enrolledCount  the number of students enrolled in the course of the task
+ */
+public record TaskProgressRow(Long taskId, long completedCount, long enrolledCount) {
+}
@@ -0,0 +1,11 @@
+package project.education.dto;
+
+/**
+ * A ready-to-render row of the task responses page: a student's answer joined with the student's name.
+ *
+ * @param studentId   the ID of the student
+ * @param studentName the name of the student, or null if the student no longer exists
+ * @param answer      the student's answer
+ */
+public record TaskResponseRow(Long studentId, String studentName, String answer) {
+}
@@ -0,0 +1,16 @@
+package project.education.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * A lightweight view of a task.
+ *
+ * @param id          the ID of the task
+ * @param title       the title of the task
+ * @param description the description of the task
+ * @param active      whether the task accepts answers
+ * @param courseId    the ID of the course the task belongs to
+ */
+@JsonFilter("fields")
+public record TaskSummary(Long id, String title, String description, boolean active, Long courseId) {
+}
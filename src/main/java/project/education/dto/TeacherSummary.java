@@ -0,0 +1,14 @@
+package project.education.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * A lightweight view of a teacher.
+ *
+ * @param id    the ID of the teacher
+ * @param name  the name of the teacher
+ * @param email the email of the teacher
+ */
+@JsonFilter("fields")
+public record TeacherSummary(Long id, String name, String email) {
+}
@@ -0,0 +1,186 @@
+package project.education.fragment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.education.cluster.InvalidationBus;
+import project.education.cluster.InvalidationEvent;
+import project.education.config.ReplicaRoutingDataSource;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Cache of rendered HTML fragments of the course and student account pages.
+ * <p>
+ * Fragments that depend on entity versions are keyed by those versions, so a changed entity is simply
+ * looked up under a new key. Fragments built from join-table rows, which have no version, are keyed by a
+ * generation number kept here and incremented by the services that change those rows.
+ * Generations are kept in a fixed number of stripes shared by many IDs, so they take the same memory
+ * however many courses and students there are; a change only causes extra misses for the other IDs of its stripe.
+ * A generation is incremented after the current transaction commits, so a fragment rendered from
+ * uncommitted data is never stored under the new generation. Entries under outdated keys are never read
+ * again and are evicted when the cache reaches its size limit.
+ * Generations are also incremented on the other instances of the application, through the {@link InvalidationBus}.
+ * Generation-keyed fragments are rendered from the primary database, because a fragment rendered from a replica
+ * that has not yet received the change would be kept under the new generation.
+ */
+@Component
+public class FragmentCache {
+    private static final int GENERATION_STRIPES = 1 << 16;
+
+    private final Cache<String, String> fragments;
+    private final AtomicLongArray rosterGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLongArray enrollmentGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong catalogGeneration = new AtomicLong();
+    private final InvalidationBus invalidationBus;
+
+    /**
+     * Constructs a new {@code FragmentCache} and subscribes it to the invalidations of the other instances.
+     *
+     * @param maxSizeKb       the maximum total size of the cached fragments in kilobytes
+     * @param invalidationBus the bus sharing invalidations with the other instances
+     */
+    public FragmentCache(@Value("${education.fragments.max-size-kb:65536}") long maxSizeKb,
+                         InvalidationBus invalidationBus) {
+        this.fragments = Caffeine.newBuilder()
+                .maximumWeight(maxSizeKb * 1024)
+                .<String, String>weigher((key, html) -> 2 * (key.length() + html.length()))
+                .recordStats()
+                .build();
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::apply);
+    }
+
+    /**
+     * Gets the rendered roster of a course, rendering it on a miss.
+     * The roster changes when students enroll, leave or are deleted, see {@link #invalidateRoster}.
+     *
+     * @param courseId the ID of the course
+     * @param renderer renders the roster from the database
+     * @return the rendered roster
+     */
+    public String getRoster(long courseId, Supplier<String> renderer) {
+        return fragments.get("roster:" + courseId + ":" + rosterGenerations.get(stripe(courseId)),
+                key -> ReplicaRoutingDataSource.onPrimary(renderer));
+    }
+
+    /**
+     * Gets a rendered fragment of a task, rendering it on a miss.
+     *
+     * @param view        the name of the fragment
+     * @param taskId      the ID of the task
+     * @param taskVersion the version of the task the fragment is rendered from
+     * @param renderer    renders the fragment
+     * @return the rendered fragment
+     */
+    public String getTask(String view, long taskId, long taskVersion, Supplier<String> renderer) {
+        return fragments.get("task:" + view + ":" + taskId + ":" + taskVersion, key -> renderer.get());
+    }
+
+    /**
+     * Gets the rendered list of courses a student is enrolled in, rendering it on a miss.
+     * The list changes when the student enrolls or leaves a course, see {@link #invalidateEnrollments},
+     * and when any course or teacher changes, see {@link #invalidateCatalog}.
+     *
+     * @param studentId the ID of the student
+     * @param renderer  renders the list from the database
+     * @return the rendered list
+     */
+    public String getEnrollments(long studentId, Supplier<String> renderer) {
+        return fragments.get("enrollments:" + studentId + ":" + enrollmentGenerations.get(stripe(studentId))
+                + ":" + catalogGeneration.get(), key -> ReplicaRoutingDataSource.onPrimary(renderer));
+    }
+
+    /**
+     * Invalidates the roster of a course once the current transaction commits.
+     *
+     * @param courseId the ID of the course
+     */
+    public void invalidateRoster(long courseId) {
+        afterCommit(InvalidationEvent.of(InvalidationEvent.Kind.ROSTER, courseId));
+    }
+
+    /**
+     * Invalidates the list of courses of a student once the current transaction commits.
+     *
+     * @param studentId the ID of the student
+     */
+    public void invalidateEnrollments(long studentId) {
+        afterCommit(InvalidationEvent.of(InvalidationEvent.Kind.ENROLLMENTS, studentId));
+    }
+
+    /**
+     * Invalidates the lists of courses of many students once the current transaction commits.
+     *
+     * @param studentIds the IDs of the students
+     */
+    public void invalidateEnrollments(Collection<Long> studentIds) {
+        if (!studentIds.isEmpty()) {
+            afterCommit(InvalidationEvent.of(InvalidationEvent.Kind.ENROLLMENTS, studentIds));
+        }
+    }
+
+    /**
+     * Invalidates every fragment showing course titles or teacher names once the current transaction commits.
+     */
+    public void invalidateCatalog() {
+        afterCommit(new InvalidationEvent(InvalidationEvent.Kind.CATALOG, List.of()));
+    }
+
+    /**
+     * Gets the underlying cache, so its hit, miss and eviction counts can be reported.
+     *
+     * @return the cache of rendered fragments by key
+     */
+    public Cache<String, String> getCache() {
+        return fragments;
+    }
+
+    private static int stripe(long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * Applies an invalidation made by this or another instance. Entity changes are covered by the
+     * roster, enrollment and catalog invalidations their services make, so other kinds are ignored.
+     *
+     * @param event the invalidation
+     */
+    private void apply(InvalidationEvent event) {
+        switch (event.kind()) {
+            case ROSTER -> event.ids().forEach(id -> rosterGenerations.incrementAndGet(stripe(id)));
+            case ENROLLMENTS -> event.ids().forEach(id -> enrollmentGenerations.incrementAndGet(stripe(id)));
+            case CATALOG -> catalogGeneration.incrementAndGet();
+            case ALL -> {
+                catalogGeneration.incrementAndGet();
+                fragments.invalidateAll();
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void afterCommit(InvalidationEvent event) {
+        Runnable invalidation = () -> {
+            apply(event);
+            invalidationBus.publish(event);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidation.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package project.education.fragment;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders single fragments of {@code templates/fragments/course_fragments.html} to HTML strings
+ * that are cached by {@link FragmentCache} and inserted into the course and account pages unescaped.
+ * Fragments are rendered with a web context of the current request, so links are built the same way as in pages.
+ */
+@Component
+public class FragmentRenderer {
+    private static final String TEMPLATE = "fragments/course_fragments";
+
+    private final ITemplateEngine templateEngine;
+
+    private volatile JakartaServletWebApplication application;
+
+    /**
+     * Constructs a new {@code FragmentRenderer}.
+     *
+     * @param templateEngine the engine rendering the page templates
+     */
+    public FragmentRenderer(ITemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+    }
+
+    /**
+     * Renders a fragment.
+     *
+     * @param fragment  the name of the fragment
+     * @param variables the variables the fragment uses
+     * @return the rendered HTML
+     */
+    public String render(String fragment, Map<String, Object> variables) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        HttpServletRequest request = attributes.getRequest();
+        if (application == null) {
+            application = JakartaServletWebApplication.buildApplication(request.getServletContext());
+        }
+        WebContext context = new WebContext(application.buildExchange(request, attributes.getResponse()),
+                LocaleContextHolder.getLocale(), variables);
+        return templateEngine.process(TEMPLATE, Set.of(fragment), context);
+    }
+}
@@ -0,0 +1,48 @@
+package project.education.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Version of the course catalog shown on every student account page: the courses and their teachers.
+ * The single row is incremented in the transaction of every course or teacher write,
+ * so the page can be validated by reading one value instead of the whole catalog.
+ */
+@Entity
+@Table(name = "catalog_version")
+public class CatalogVersion {
+    /**
+     * The ID of the single row.
+     */
+    public static final long ID = 1;
+
+    @Id
+    private Long id;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public CatalogVersion() {}
+
+    /**
+     * Gets the ID of the row.
+     *
+     * @return the ID of the row
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the version of the catalog.
+     *
+     * @return the number of catalog writes counted so far
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,44 @@
+package project.education.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Maintained enrollment counter of a {@link Course}: the number of students enrolled in the course.
+ * The counter is updated in the same transaction as the enrollment that changes it
+ * and rebuilt from {@code course_student} by the reconciliation job.
+ */
+@Entity
+@Table(name = "course_progress")
+public class CourseProgress {
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @ColumnDefault("0")
+    @Column(name = "enrolled_count", nullable = false)
+    private long enrolledCount;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public CourseProgress() {}
+
+    /**
+     * Gets the ID of the course.
+     *
+     * @return the ID of the course
+     */
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * Gets the number of students enrolled in the course.
+     *
+     * @return the enrollment count
+     */
+    public long getEnrolledCount() {
+        return enrolledCount;
+    }
+}
@@ -0,0 +1,23 @@
+package project.education.model;
+
+import java.time.Instant;
+
+/**
+ * A submission that has been accepted and journaled but not yet written to the database.
+ *
+ * @param taskId      the ID of the task
+ * @param studentId   the ID of the student
+ * @param answer      the student's answer
+ * @param submittedAt the time the submission was accepted
+ */
+public record PendingSubmission(Long taskId, Long studentId, String answer, Instant submittedAt) {
+
+    /**
+     * Gets the identifier of the submission row this entry will be written to.
+     *
+     * @return the submission identifier
+     */
+    public SubmissionId id() {
+        return new SubmissionId(taskId, studentId);
+    }
+}
@@ -0,0 +1,27 @@
+package project.education.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an ID attribute whose values are drawn from a database sequence with the pooled-lo optimizer.
+ * One call of the sequence reserves a block of IDs, so inserts need no round trip per row
+ * and Hibernate can send them in JDBC batches.
+ * The block size is configured with {@code education.ids.allocation-size}.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+
+    /**
+     * The name of the database sequence.
+     *
+     * @return the sequence name
+     */
+    String value();
+}
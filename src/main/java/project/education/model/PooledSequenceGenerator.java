@@ -0,0 +1,56 @@
+package project.education.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * Sequence generator behind {@link PooledSequence}.
+ * It is a {@link SequenceStyleGenerator} with the pooled-lo optimizer: a sequence value {@code v}
+ * reserves the IDs from {@code v} to {@code v + allocationSize - 1}.
+ * The allocation size is read from the {@value #ALLOCATION_SIZE_SETTING} Hibernate setting,
+ * which {@code application.properties} binds to {@code education.ids.allocation-size}.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator implements AnnotationBasedGenerator<PooledSequence> {
+    /**
+     * The Hibernate setting holding the number of IDs reserved by one call of a sequence.
+     */
+    public static final String ALLOCATION_SIZE_SETTING = "education.id.allocation_size";
+
+    /**
+     * The allocation size used when the setting is absent.
+     */
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private String sequenceName;
+
+    /**
+     * Reads the sequence name from the annotation of the ID attribute.
+     *
+     * @param annotation the annotation of the ID attribute
+     * @param member     the ID attribute
+     * @param context    the context of the generator creation
+     */
+    @Override
+    public void initialize(PooledSequence annotation, Member member, GeneratorCreationContext context) {
+        this.sequenceName = annotation.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.setProperty(OPT_PARAM, "pooled-lo");
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
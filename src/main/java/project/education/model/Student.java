@@ -1,19 +1,35 @@
 package project.education.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Represents a student in the educational system.
  * A student can be enrolled in multiple courses.
+ * Emails are unique, as imports identify students by email.
+ * The enrollment join table is looked up by student through its {@code (student_id, course_id)} primary key
+ * and by course through {@code idx_course_student_course}, both created by the migrations in {@code db/migration}.
+ * Only the course index is declared here: a schema generated by Hibernate orders the primary key the other way
+ * round, and H2 indexes the {@code student_id} foreign key on its own.
  */
 @Entity
+@Table(indexes = @Index(name = "uk_student_email", columnList = "email", unique = true))
 public class Student {
+    /**
+     * The name of the database sequence the student IDs are drawn from.
+     */
+    public static final String ID_SEQUENCE = "student_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(ID_SEQUENCE)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     private String name;
     private String email;
 
@@ -21,7 +37,8 @@ public class Student {
     @JoinTable(
             name = "course_student",
             joinColumns = @JoinColumn(name = "student_id"),
-            inverseJoinColumns = @JoinColumn(name = "course_id")
+            inverseJoinColumns = @JoinColumn(name = "course_id"),
+            indexes = @Index(name = "idx_course_student_course", columnList = "course_id, student_id")
     )
     private Set<Course> courses = new HashSet<>();
 
@@ -59,6 +76,15 @@ public class Student {
         this.id = id;
     }
 
+    /**
+     * Gets the version of the student, incremented by every update.
+     *
+     * @return the version of the student
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets the name of the student.
      *
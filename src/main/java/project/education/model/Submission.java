@@ -0,0 +1,90 @@
+package project.education.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a student's submission for a task.
+ * Submissions are stored separately from the {@link Task} aggregate, one row per task and student,
+ * so that a submit touches a single row instead of rewriting the task's collections.
+ * <p>
+ * Hibernate orders the key columns of {@link SubmissionId} by property name, so the primary key starts with
+ * the student and only serves the submissions of a student. The responses, exports and deletes of a task
+ * and the recount of its completions read by task, so the table is declared with an index starting with the task.
+ */
+@Entity
+@Table(name = "task_submission",
+        indexes = @Index(name = "idx_task_submission_task", columnList = "task_id, student_id"))
+@IdClass(SubmissionId.class)
+public class Submission {
+    /**
+     * The maximum number of characters of an answer, the length of the {@code answer} column.
+     */
+    public static final int MAX_ANSWER_LENGTH = 255;
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(length = MAX_ANSWER_LENGTH)
+    private String answer;
+
+    private boolean completed;
+
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public Submission() {}
+
+    /**
+     * Gets the ID of the task.
+     *
+     * @return the ID of the task
+     */
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Gets the ID of the student.
+     *
+     * @return the ID of the student
+     */
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * Gets the answer submitted by the student.
+     *
+     * @return the submitted answer
+     */
+    public String getAnswer() {
+        return answer;
+    }
+
+    /**
+     * Checks if the student has completed the task.
+     *
+     * @return true if the task is completed, false otherwise
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Gets the time of the latest submission.
+     *
+     * @return the time the answer was submitted
+     */
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+}
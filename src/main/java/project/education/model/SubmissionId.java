@@ -0,0 +1,63 @@
+package project.education.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite identifier of a {@link Submission}.
+ * A submission is uniquely identified by the task and the student who submitted it.
+ */
+public class SubmissionId implements Serializable {
+    private Long taskId;
+    private Long studentId;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public SubmissionId() {}
+
+    /**
+     * Constructs a new identifier for the specified task and student.
+     *
+     * @param taskId    the ID of the task
+     * @param studentId the ID of the student
+     */
+    public SubmissionId(Long taskId, Long studentId) {
+        this.taskId = taskId;
+        this.studentId = studentId;
+    }
+
+    /**
+     * Gets the ID of the task.
+     *
+     * @return the ID of the task
+     */
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Gets the ID of the student.
+     *
+     * @return the ID of the student
+     */
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SubmissionId other)) {
+            return false;
+        }
+        return Objects.equals(taskId, other.taskId) && Objects.equals(studentId, other.studentId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(taskId, studentId);
+    }
+}
@@ -1,39 +1,39 @@
 package project.education.model;
 
 import jakarta.persistence.*;
-import java.util.HashMap;
-import java.util.Map;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * Represents a task assigned to students within a course.
- * A task contains details such as title, description, status, and associated student responses.
+ * A task contains details such as title, description, and status.
+ * Student responses are stored separately as {@link Submission} entities.
+ * {@code idx_task_course} matches the keyset pages of a course, {@code course_id = ? AND id > ? ORDER BY id},
+ * which read one range of the index in order instead of sorting the tasks of the course.
  */
 @Entity
+@Table(indexes = @Index(name = "idx_task_course", columnList = "course_id, id"))
 public class Task {
+    /**
+     * The name of the database sequence the task IDs are drawn from.
+     */
+    public static final String ID_SEQUENCE = "task_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(ID_SEQUENCE)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     private String title;
     private String description;
     private boolean active = true;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 
-    @ElementCollection
-    @CollectionTable(name = "student_answers", joinColumns = @JoinColumn(name = "task_id"))
-    @MapKeyColumn(name = "student_id")
-    @Column(name = "answer")
-    private Map<Long, String> studentAnswers = new HashMap<>();
-
-    @ElementCollection
-    @CollectionTable(name = "student_task_statuses", joinColumns = @JoinColumn(name = "task_id"))
-    @MapKeyColumn(name = "student_id")
-    @Column(name = "status")
-    private Map<Long, Boolean> studentStatuses = new HashMap<>();
-
     /**
      * Default constructor for JPA.
      */
@@ -70,6 +70,15 @@ public class Task {
         this.id = id;
     }
 
+    /**
+     * Gets the version of the task, incremented by every update.
+     *
+     * @return the version of the task
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets the title of the task.
      *
@@ -142,70 +151,4 @@ public class Task {
     public void setCourse(Course course) {
         this.course = course;
     }
-
-    /**
-     * Gets the map of student responses for the task.
-     *
-     * @return the map of student responses
-     */
-    public Map<Long, String> getStudentAnswers() {
-        return studentAnswers;
-    }
-
-    /**
-     * Sets the map of student responses for the task.
-     *
-     * @param studentAnswers the map of student responses to set
-     */
-    public void setStudentAnswers(Map<Long, String> studentAnswers) {
-        this.studentAnswers = studentAnswers;
-    }
-
-    /**
-     * Adds a response for a specific student to the task.
-     *
-     * @param studentId the ID of the student
-     * @param response  the response of the student
-     */
-    public void addStudentResponse(Long studentId, String response) {
-        this.studentAnswers.put(studentId, response);
-    }
-
-    /**
-     * Gets the map of student statuses for the task.
-     *
-     * @return the map of student statuses
-     */
-    public Map<Long, Boolean> getStudentStatuses() {
-        return studentStatuses;
-    }
-
-    /**
-     * Sets the map of student statuses for the task.
-     *
-     * @param studentStatuses the map of student statuses to set
-     */
-    public void setStudentStatuses(Map<Long, Boolean> studentStatuses) {
-        this.studentStatuses = studentStatuses;
-    }
-
-    /**
-     * Sets the status of a specific student for the task.
-     *
-     * @param studentId the ID of the student
-     * @param status    the status to set (true for completed, false otherwise)
-     */
-    public void setStudentStatus(Long studentId, Boolean status) {
-        this.studentStatuses.put(studentId, status);
-    }
-
-    /**
-     * Gets the status of a specific student for the task.
-     *
-     * @param studentId the ID of the student
-     * @return the status of the student (true for completed, false otherwise)
-     */
-    public Boolean getStudentStatus(Long studentId) {
-        return this.studentStatuses.getOrDefault(studentId, false);
-    }
 }
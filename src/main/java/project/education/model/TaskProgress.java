@@ -0,0 +1,44 @@
+package project.education.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * Maintained completion counter of a {@link Task}: the number of completed submissions for the task.
+ * The counter is updated in the same transaction as the submission that changes it
+ * and rebuilt from {@code task_submission} by the reconciliation job.
+ */
+@Entity
+@Table(name = "task_progress")
+public class TaskProgress {
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @ColumnDefault("0")
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public TaskProgress() {}
+
+    /**
+     * Gets the ID of the task.
+     *
+     * @return the ID of the task
+     */
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Gets the number of completed submissions for the task.
+     *
+     * @return the completion count
+     */
+    public long getCompletedCount() {
+        return completedCount;
+    }
+}
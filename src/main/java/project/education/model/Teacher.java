@@ -1,6 +1,9 @@
 package project.education.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -9,11 +12,22 @@ import java.util.Set;
  * A teacher can have multiple courses assigned to them.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teacher")
 public class Teacher {
+    /**
+     * The name of the database sequence the teacher IDs are drawn from.
+     */
+    public static final String ID_SEQUENCE = "teacher_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(ID_SEQUENCE)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     private String name;
     private String email;
 
@@ -55,6 +69,15 @@ public class Teacher {
         this.id = id;
     }
 
+    /**
+     * Gets the version of the teacher, incremented by every update.
+     *
+     * @return the version of the teacher
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * Gets the name of the teacher.
      *
@@ -1,10 +1,19 @@
 package project.education.repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import project.education.dto.CourseSummary;
 import project.education.model.Course;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link Course} entities.
@@ -15,9 +24,94 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     /**
      * Finds all courses associated with a specific teacher.
+     * Results are kept in the query cache until the {@code course} table changes.
      *
      * @param teacherId the ID of the teacher
      * @return a list of courses taught by the specified teacher
      */
-    List<Course> findByTeacherId(Long teacherId);
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "course-by-teacher")
+    })
+    @Query("select c from Course c where c.teacher.id = :teacherId")
+    List<Course> findByTeacherId(@Param("teacherId") Long teacherId);
+
+    /**
+     * Finds a course together with its teacher in a single query.
+     *
+     * @param id the ID of the course
+     * @return the course with its teacher initialized, or empty if not found
+     */
+    @EntityGraph(attributePaths = "teacher")
+    Optional<Course> findWithTeacherById(Long id);
+
+    /**
+     * Finds the next courses after the given ID, ordered by ID (keyset pagination).
+     *
+     * @param id       the ID of the last course of the previous slice
+     * @param pageable the slice size; the page number must be zero
+     * @return a slice of courses with IDs greater than the given ID
+     */
+    Slice<Course> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Finds the courses a student is not enrolled in, ordered by ID, starting after the given course ID.
+     * With a title fragment, courses are read in ID order until a slice of matches is found,
+     * so a fragment matching few titles reads most of the course table.
+     *
+     * @param studentId the ID of the student
+     * @param afterId   the ID of the last course of the previous slice
+     * @param title     a case-insensitive fragment of the course title, or null to match all courses;
+     *                  {@code %}, {@code _} and {@code \} in it must be escaped with {@code \}
+     * @param pageable  the slice size; the page number must be zero
+     * @return a slice of course summaries
+     */
+    @Query("""
+            select new project.education.dto.CourseSummary(c.id, c.title, t.name)
+            from Course c join c.teacher t
+            where c.id > :afterId
+              and (:title is null or lower(c.title) like lower(concat('%', :title, '%')) escape '\\')
+              and not exists (select 1 from Student s join s.courses sc where s.id = :studentId and sc.id = c.id)
+            order by c.id
+            """)
+    Slice<CourseSummary> findAvailableForStudent(@Param("studentId") Long studentId, @Param("afterId") Long afterId,
+                                                 @Param("title") String title, Pageable pageable);
+
+    /**
+     * Finds the courses a student is enrolled in.
+     *
+     * @param studentId the ID of the student
+     * @return a list of course summaries ordered by course ID
+     */
+    @Query("""
+            select new project.education.dto.CourseSummary(c.id, c.title, t.name)
+            from Student s join s.courses c join c.teacher t
+            where s.id = :studentId
+            order by c.id
+            """)
+    List<CourseSummary> findEnrolledForStudent(@Param("studentId") Long studentId);
+
+    /**
+     * Finds summaries of the next courses after the given ID, ordered by ID (keyset pagination).
+     *
+     * @param afterId  the ID of the last course of the previous slice
+     * @param pageable the slice size; the page number must be zero
+     * @return a slice of course summaries
+     */
+    @Query("""
+            select new project.education.dto.CourseSummary(c.id, c.title, t.name)
+            from Course c join c.teacher t
+            where c.id > :afterId
+            order by c.id
+            """)
+    Slice<CourseSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds the summary of a course by ID.
+     *
+     * @param id the ID of the course
+     * @return the course summary, or empty if the course does not exist
+     */
+    @Query("select new project.education.dto.CourseSummary(c.id, c.title, t.name) from Course c join c.teacher t where c.id = :id")
+    Optional<CourseSummary> findSummaryById(@Param("id") Long id);
 }
@@ -0,0 +1,214 @@
+package project.education.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for course enrollments stored in the {@code course_student} join table.
+ * Enrollments are inserted and deleted directly, without loading the {@code Student} or {@code Course} aggregates.
+ * The primary key {@code (student_id, course_id)} of the join table guarantees that a student is enrolled at most once.
+ * Every change of the join table updates the enrollment counter in {@code course_progress} in the same transaction.
+ */
+@Repository
+public class EnrollmentRepository {
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String ENROLL = """
+            INSERT INTO course_student (student_id, course_id)
+            SELECT s.id, c.id FROM student s JOIN course c ON c.id = ?
+            WHERE s.id = ?
+              AND NOT EXISTS (SELECT 1 FROM course_student cs WHERE cs.student_id = s.id AND cs.course_id = c.id)
+            """;
+
+    private static final String LEAVE = "DELETE FROM course_student WHERE student_id = ? AND course_id = ?";
+
+    private static final String ADD_ENROLLED =
+            "UPDATE course_progress SET enrolled_count = enrolled_count + ? WHERE course_id = ?";
+
+    private static final String LEAVE_ALL_COUNTERS = """
+            UPDATE course_progress SET enrolled_count = enrolled_count - 1
+            WHERE course_id IN (SELECT cs.course_id FROM course_student cs WHERE cs.student_id = ?)
+            """;
+
+    private static final String LEAVE_ALL = "DELETE FROM course_student WHERE student_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate chunkTransaction;
+
+    /**
+     * Constructs a new {@code EnrollmentRepository}.
+     *
+     * @param jdbcTemplate       the template used to access the join table
+     * @param transactionManager the transaction manager used to update enrollments and their counters atomically
+     */
+    public EnrollmentRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Enrolls a student in a course if the student is not enrolled yet.
+     * The insert runs under a savepoint of the transaction's connection: when a concurrent enrollment of the same student wins the race
+     * for the row, only the insert is rolled back, because PostgreSQL aborts the whole transaction
+     * on a unique violation that is not rolled back to a savepoint.
+     *
+     * @param studentId the ID of the student
+     * @param courseId  the ID of the course
+     * @return true if a new enrollment was created, false if it already existed or the student or course does not exist
+     */
+    public boolean enroll(Long studentId, Long courseId) {
+        return Boolean.TRUE.equals(transaction.execute(status -> {
+            Savepoint savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+            int inserted;
+            try {
+                inserted = jdbcTemplate.update(ENROLL, courseId, studentId);
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    connection.rollback(savepoint);
+                    return null;
+                });
+                return false;
+            }
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                connection.releaseSavepoint(savepoint);
+                return null;
+            });
+            if (inserted == 0) {
+                return false;
+            }
+            jdbcTemplate.update(ADD_ENROLLED, 1, courseId);
+            return true;
+        }));
+    }
+
+    /**
+     * Removes a student from a course.
+     *
+     * @param studentId the ID of the student
+     * @param courseId  the ID of the course
+     * @return true if an enrollment was removed, false if the student was not enrolled
+     */
+    public boolean leave(Long studentId, Long courseId) {
+        return Boolean.TRUE.equals(transaction.execute(status -> {
+            if (jdbcTemplate.update(LEAVE, studentId, courseId) == 0) {
+                return false;
+            }
+            jdbcTemplate.update(ADD_ENROLLED, -1, courseId);
+            return true;
+        }));
+    }
+
+    /**
+     * Removes a student from all their courses, for example before the student is deleted.
+     *
+     * @param studentId the ID of the student
+     * @return the number of enrollments removed
+     */
+    public int leaveAll(Long studentId) {
+        Integer removed = transaction.execute(status -> {
+            jdbcTemplate.update(LEAVE_ALL_COUNTERS, studentId);
+            return jdbcTemplate.update(LEAVE_ALL, studentId);
+        });
+        return removed == null ? 0 : removed;
+    }
+
+    /**
+     * Enrolls many students in one course using JDBC batches.
+     * Students that do not exist or are already enrolled are skipped.
+     *
+     * @param courseId   the ID of the course
+     * @param studentIds the IDs of the students to enroll
+     * @return the number of enrollments created
+     */
+    public int enrollMany(Long courseId, Collection<Long> studentIds) {
+        List<Long> ids = new ArrayList<>(studentIds);
+        int created = 0;
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            try {
+                created += chunkTransaction.execute(status -> {
+                    int[][] counts = jdbcTemplate.batchUpdate(ENROLL, chunk, chunk.size(), (ps, studentId) -> {
+                        ps.setLong(1, courseId);
+                        ps.setLong(2, studentId);
+                    });
+                    int chunkCreated = 0;
+                    for (int[] batch : counts) {
+                        for (int count : batch) {
+                            chunkCreated += Math.max(count, 0);
+                        }
+                    }
+                    jdbcTemplate.update(ADD_ENROLLED, chunkCreated, courseId);
+                    return chunkCreated;
+                });
+            } catch (DuplicateKeyException e) {
+                // a concurrent enrollment won the race for one of the rows and the chunk was rolled back;
+                // each row is retried in its own transaction, where enroll() survives the same race
+                for (Long studentId : chunk) {
+                    if (Boolean.TRUE.equals(chunkTransaction.execute(status -> enroll(studentId, courseId)))) {
+                        created++;
+                    }
+                }
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Enrolls students in several courses with one JDBC batch and updates the counters of those courses.
+     * Runs in the caller's transaction if there is one.
+     * Students or courses that do not exist and existing enrollments are skipped.
+     *
+     * @param studentIdsByCourse the IDs of the students to enroll, keyed by course ID
+     * @return the number of enrollments created
+     */
+    public int enrollAll(Map<Long, ? extends Collection<Long>> studentIdsByCourse) {
+        List<long[]> pairs = new ArrayList<>();
+        studentIdsByCourse.forEach((courseId, studentIds) -> {
+            for (Long studentId : studentIds) {
+                pairs.add(new long[]{courseId, studentId});
+            }
+        });
+        if (pairs.isEmpty()) {
+            return 0;
+        }
+        Integer created = transaction.execute(status -> {
+            int[][] counts = jdbcTemplate.batchUpdate(ENROLL, pairs, BATCH_SIZE, (ps, pair) -> {
+                ps.setLong(1, pair[0]);
+                ps.setLong(2, pair[1]);
+            });
+            Map<Long, Integer> createdByCourse = new HashMap<>();
+            int index = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    if (count > 0) {
+                        createdByCourse.merge(pairs.get(index)[0], count, Integer::sum);
+                    }
+                    index++;
+                }
+            }
+            if (!createdByCourse.isEmpty()) {
+                jdbcTemplate.batchUpdate(ADD_ENROLLED, createdByCourse.entrySet().stream()
+                        .map(e -> new Object[]{e.getValue(), e.getKey()})
+                        .toList());
+            }
+            return createdByCourse.values().stream().mapToInt(Integer::intValue).sum();
+        });
+        return created == null ? 0 : created;
+    }
+}
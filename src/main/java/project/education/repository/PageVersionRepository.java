@@ -0,0 +1,134 @@
+package project.education.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository computing version fingerprints of the data shown on frequently polled pages.
+ * Each fingerprint is read with one aggregate query over entity versions, IDs and row counts,
+ * and changes whenever a row rendered on the page is inserted, updated or deleted.
+ * The course catalog listed on every student page is too large to aggregate per request, so it is represented
+ * by the {@code catalog_version} row, which the services increment whenever they write a course or a teacher.
+ */
+@Repository
+public class PageVersionRepository {
+
+    private static final String TEACHER_PAGE = """
+            SELECT t.version,
+                   (SELECT COUNT(*) FROM course c WHERE c.teacher_id = t.id),
+                   (SELECT COALESCE(SUM(c.id), 0) FROM course c WHERE c.teacher_id = t.id),
+                   (SELECT COALESCE(SUM(c.version), 0) FROM course c WHERE c.teacher_id = t.id)
+            FROM teacher t
+            WHERE t.id = ?
+            """;
+
+    private static final String COURSE_PAGE = """
+            SELECT c.version, t.version,
+                   (SELECT COUNT(*) FROM task k WHERE k.course_id = c.id),
+                   (SELECT COALESCE(SUM(k.id), 0) FROM task k WHERE k.course_id = c.id),
+                   (SELECT COALESCE(SUM(k.version), 0) FROM task k WHERE k.course_id = c.id),
+                   (SELECT COALESCE(SUM(p.completed_count), 0) FROM task k JOIN task_progress p ON p.task_id = k.id
+                    WHERE k.course_id = c.id),
+                   (SELECT COUNT(*) FROM course_student cs WHERE cs.course_id = c.id),
+                   (SELECT COALESCE(SUM(cs.student_id), 0) FROM course_student cs WHERE cs.course_id = c.id),
+                   (SELECT COALESCE(SUM(s.version), 0) FROM course_student cs JOIN student s ON s.id = cs.student_id
+                    WHERE cs.course_id = c.id)
+            FROM course c JOIN teacher t ON t.id = c.teacher_id
+            WHERE c.id = ?
+            """;
+
+    private static final String STUDENT_PAGE = """
+            SELECT s.version,
+                   (SELECT COUNT(*) FROM course_student cs WHERE cs.student_id = s.id),
+                   (SELECT COALESCE(SUM(cs.course_id), 0) FROM course_student cs WHERE cs.student_id = s.id),
+                   (SELECT COALESCE(MAX(v.version), 0) FROM catalog_version v WHERE v.id = 1)
+            FROM student s
+            WHERE s.id = ?
+            """;
+
+    private static final String CREATE_CATALOG_VERSION = """
+            INSERT INTO catalog_version (id, version)
+            SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM catalog_version v WHERE v.id = 1)
+            """;
+
+    private static final String INCREMENT_CATALOG_VERSION = "UPDATE catalog_version SET version = version + 1 WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new {@code PageVersionRepository}.
+     *
+     * @param jdbcTemplate the template used to run the fingerprint queries
+     */
+    public PageVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Computes the fingerprint of a teacher account page: the teacher and their courses.
+     *
+     * @param teacherId the ID of the teacher
+     * @return the fingerprint, or empty if the teacher does not exist
+     */
+    public Optional<String> findTeacherPageVersion(Long teacherId) {
+        return fingerprint(TEACHER_PAGE, teacherId);
+    }
+
+    /**
+     * Computes the fingerprint of a teacher course page: the course, its teacher, tasks, their progress and enrolled students.
+     *
+     * @param courseId the ID of the course
+     * @return the fingerprint, or empty if the course does not exist
+     */
+    public Optional<String> findCoursePageVersion(Long courseId) {
+        return fingerprint(COURSE_PAGE, courseId);
+    }
+
+    /**
+     * Creates the catalog version row if it does not exist yet, for databases whose schema is created by Hibernate.
+     */
+    public void createCatalogVersion() {
+        jdbcTemplate.update(CREATE_CATALOG_VERSION);
+    }
+
+    /**
+     * Increments the catalog version, so every student page fingerprint changes.
+     * Must run in the transaction that writes the course or teacher.
+     */
+    public void incrementCatalogVersion() {
+        jdbcTemplate.update(INCREMENT_CATALOG_VERSION);
+    }
+
+    /**
+     * Computes the fingerprint of a student account page: the student, their enrollments
+     * and the version of the courses and teachers listed as available.
+     *
+     * @param studentId the ID of the student
+     * @return the fingerprint, or empty if the student does not exist
+     */
+    public Optional<String> findStudentPageVersion(Long studentId) {
+        return fingerprint(STUDENT_PAGE, studentId);
+    }
+
+    private Optional<String> fingerprint(String sql, Long id) {
+        List<String> rows = jdbcTemplate.query(sql, (rs, rowNum) -> join(rs), id);
+        return rows.stream().findFirst();
+    }
+
+    private static String join(ResultSet rs) throws SQLException {
+        StringBuilder fingerprint = new StringBuilder();
+        int columns = rs.getMetaData().getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                fingerprint.append('-');
+            }
+            fingerprint.append(rs.getLong(i));
+        }
+        return fingerprint.toString();
+    }
+}
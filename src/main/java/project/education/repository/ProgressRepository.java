@@ -0,0 +1,218 @@
+package project.education.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.education.dto.TaskProgressRow;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for the maintained progress counters in the {@code task_progress} and {@code course_progress} tables.
+ * Counters are created together with their task or course, changed by relative updates
+ * in the transaction of the write that affects them, and rebuilt from the source tables by {@link #reconcile()}.
+ */
+@Repository
+public class ProgressRepository {
+
+    private static final String CREATE_TASK_PROGRESS = """
+            INSERT INTO task_progress (task_id, completed_count)
+            SELECT CAST(? AS BIGINT), 0 WHERE NOT EXISTS (SELECT 1 FROM task_progress p WHERE p.task_id = ?)
+            """;
+
+    private static final String CREATE_COURSE_PROGRESS = """
+            INSERT INTO course_progress (course_id, enrolled_count)
+            SELECT CAST(? AS BIGINT), 0 WHERE NOT EXISTS (SELECT 1 FROM course_progress p WHERE p.course_id = ?)
+            """;
+
+    private static final String ADD_COMPLETED =
+            "UPDATE task_progress SET completed_count = completed_count + ? WHERE task_id = ?";
+
+    private static final String COURSE_PROGRESS = """
+            SELECT t.id, COALESCE(tp.completed_count, 0), COALESCE(cp.enrolled_count, 0)
+            FROM task t
+            LEFT JOIN task_progress tp ON tp.task_id = t.id
+            LEFT JOIN course_progress cp ON cp.course_id = t.course_id
+            WHERE t.course_id = ?
+            ORDER BY t.id
+            """;
+
+    private static final String ENROLLED_COUNT = "SELECT enrolled_count FROM course_progress WHERE course_id = ?";
+
+    private static final String DRIFTED_TASKS = """
+            SELECT t.id
+            FROM task t
+            LEFT JOIN task_progress p ON p.task_id = t.id
+            WHERE p.task_id IS NULL
+               OR p.completed_count <> (SELECT COUNT(*) FROM task_submission s
+                                        WHERE s.task_id = t.id AND s.completed = TRUE)
+            """;
+
+    private static final String DRIFTED_COURSES = """
+            SELECT c.id
+            FROM course c
+            LEFT JOIN course_progress p ON p.course_id = c.id
+            WHERE p.course_id IS NULL
+               OR p.enrolled_count <> (SELECT COUNT(*) FROM course_student cs WHERE cs.course_id = c.id)
+            """;
+
+    private static final String LOCK_TASK_PROGRESS =
+            "SELECT completed_count FROM task_progress WHERE task_id = ? FOR UPDATE";
+
+    private static final String LOCK_COURSE_PROGRESS =
+            "SELECT enrolled_count FROM course_progress WHERE course_id = ? FOR UPDATE";
+
+    private static final String COUNT_COMPLETED =
+            "SELECT COUNT(*) FROM task_submission WHERE task_id = ? AND completed = TRUE";
+
+    private static final String COUNT_ENROLLED = "SELECT COUNT(*) FROM course_student WHERE course_id = ?";
+
+    private static final String SET_COMPLETED =
+            "UPDATE task_progress SET completed_count = ? WHERE task_id = ? AND completed_count <> ?";
+
+    private static final String SET_ENROLLED =
+            "UPDATE course_progress SET enrolled_count = ? WHERE course_id = ? AND enrolled_count <> ?";
+
+    private static final String DELETE_ORPHAN_TASKS =
+            "DELETE FROM task_progress p WHERE NOT EXISTS (SELECT 1 FROM task t WHERE t.id = p.task_id)";
+
+    private static final String DELETE_ORPHAN_COURSES =
+            "DELETE FROM course_progress p WHERE NOT EXISTS (SELECT 1 FROM course c WHERE c.id = p.course_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a new {@code ProgressRepository}.
+     *
+     * @param jdbcTemplate        the template used to access the counter tables
+     * @param transactionTemplate the template used to correct each drifted counter in its own transaction
+     */
+    public ProgressRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Creates the zero completion counter of a new task.
+     *
+     * @param taskId the ID of the task
+     */
+    public void createTaskProgress(Long taskId) {
+        jdbcTemplate.update(CREATE_TASK_PROGRESS, taskId, taskId);
+    }
+
+    /**
+     * Creates the zero enrollment counter of a new course.
+     *
+     * @param courseId the ID of the course
+     */
+    public void createCourseProgress(Long courseId) {
+        jdbcTemplate.update(CREATE_COURSE_PROGRESS, courseId, courseId);
+    }
+
+    /**
+     * Adds the given number of completed submissions to the counter of a task.
+     * Must run in the transaction that writes the submissions.
+     *
+     * @param taskId the ID of the task
+     * @param delta  the number of submissions that became completed
+     */
+    public void addCompleted(Long taskId, long delta) {
+        jdbcTemplate.update(ADD_COMPLETED, delta, taskId);
+    }
+
+    /**
+     * Adds the completed submissions of several tasks, one batched update per task.
+     * Must run in the transaction that writes the submissions.
+     *
+     * @param deltas the number of submissions that became completed, keyed by task ID
+     */
+    public void addCompleted(Map<Long, Long> deltas) {
+        List<Object[]> updates = deltas.entrySet().stream()
+                .filter(e -> e.getValue() != 0)
+                .map(e -> new Object[]{e.getValue(), e.getKey()})
+                .toList();
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_COMPLETED, updates);
+        }
+    }
+
+    /**
+     * Deletes the counter of a task.
+     *
+     * @param taskId the ID of the task
+     */
+    public void deleteTaskProgress(Long taskId) {
+        jdbcTemplate.update("DELETE FROM task_progress WHERE task_id = ?", taskId);
+    }
+
+    /**
+     * Deletes the counter of a course.
+     *
+     * @param courseId the ID of the course
+     */
+    public void deleteCourseProgress(Long courseId) {
+        jdbcTemplate.update("DELETE FROM course_progress WHERE course_id = ?", courseId);
+    }
+
+    /**
+     * Reads the progress of every task of a course with one query over the counter tables.
+     *
+     * @param courseId the ID of the course
+     * @return the progress rows, ordered by task ID
+     */
+    public List<TaskProgressRow> findCourseProgress(Long courseId) {
+        return jdbcTemplate.query(COURSE_PROGRESS,
+                (rs, rowNum) -> new TaskProgressRow(rs.getLong(1), rs.getLong(2), rs.getLong(3)), courseId);
+    }
+
+    /**
+     * Reads the number of students enrolled in a course.
+     *
+     * @param courseId the ID of the course
+     * @return the enrollment count, 0 if the course has no counter yet
+     */
+    public long findEnrolledCount(Long courseId) {
+        List<Long> counts = jdbcTemplate.queryForList(ENROLLED_COUNT, Long.class, courseId);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+
+    /**
+     * Rebuilds all counters from {@code task_submission} and {@code course_student}.
+     * Missing counters are created, wrong ones are overwritten and counters of deleted tasks and courses are removed.
+     * <p>
+     * Counters that look wrong are found without locks and then corrected one at a time, each in a transaction
+     * that locks the counter row before counting the source rows again. A write changing the source rows
+     * updates the counter in its own transaction, so it either committed before the lock was taken and is counted,
+     * or adds its change to the corrected value afterwards; no concurrent change is overwritten,
+     * even when several instances reconcile at once.
+     *
+     * @return the number of counters that were created, corrected or removed
+     */
+    public int reconcile() {
+        int corrected = 0;
+        for (Long taskId : jdbcTemplate.queryForList(DRIFTED_TASKS, Long.class)) {
+            corrected += correct(CREATE_TASK_PROGRESS, LOCK_TASK_PROGRESS, COUNT_COMPLETED, SET_COMPLETED, taskId);
+        }
+        for (Long courseId : jdbcTemplate.queryForList(DRIFTED_COURSES, Long.class)) {
+            corrected += correct(CREATE_COURSE_PROGRESS, LOCK_COURSE_PROGRESS, COUNT_ENROLLED, SET_ENROLLED, courseId);
+        }
+        return corrected
+                + jdbcTemplate.update(DELETE_ORPHAN_TASKS)
+                + jdbcTemplate.update(DELETE_ORPHAN_COURSES);
+    }
+
+    private int correct(String create, String lock, String count, String set, Long id) {
+        Integer changed = transactionTemplate.execute(status -> {
+            int created = jdbcTemplate.update(create, id, id);
+            if (jdbcTemplate.queryForList(lock, Long.class, id).isEmpty()) {
+                return created;
+            }
+            long actual = jdbcTemplate.queryForObject(count, Long.class, id);
+            return Math.max(created, jdbcTemplate.update(set, actual, id, actual));
+        });
+        return changed == null ? 0 : changed;
+    }
+}
@@ -0,0 +1,80 @@
+package project.education.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repository for the lookups and inserts of the bulk roster import.
+ * Students are inserted with JDBC batches and IDs reserved from the student sequence in advance.
+ */
+@Repository
+public class RosterRepository {
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_STUDENT = "INSERT INTO student (id, name, email) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Constructs a new {@code RosterRepository}.
+     *
+     * @param jdbcTemplate      the template used for batch inserts
+     * @param namedJdbcTemplate the template used for lookups with {@code IN} lists
+     */
+    public RosterRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Finds the IDs of the students with the given emails.
+     *
+     * @param emails the emails to look up
+     * @return the student IDs, keyed by email
+     */
+    public Map<String, Long> findStudentIdsByEmail(Collection<String> emails) {
+        Map<String, Long> ids = new HashMap<>();
+        if (emails.isEmpty()) {
+            return ids;
+        }
+        namedJdbcTemplate.query("SELECT email, id FROM student WHERE email IN (:emails)",
+                Map.of("emails", emails), rs -> {
+                    ids.put(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+
+    /**
+     * Finds which of the given course IDs exist.
+     *
+     * @param courseIds the course IDs to check
+     * @return the IDs of the existing courses
+     */
+    public Set<Long> findExistingCourseIds(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(namedJdbcTemplate.queryForList("SELECT id FROM course WHERE id IN (:ids)",
+                Map.of("ids", courseIds), Long.class));
+    }
+
+    /**
+     * Inserts students with JDBC batches.
+     *
+     * @param students the students as {@code (id, name, email)} rows; the IDs must be reserved from the student sequence
+     */
+    public void insertStudents(List<Object[]> students) {
+        for (int from = 0; from < students.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(INSERT_STUDENT, students.subList(from, Math.min(from + BATCH_SIZE, students.size())));
+        }
+    }
+}
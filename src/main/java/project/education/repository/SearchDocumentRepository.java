@@ -0,0 +1,82 @@
+package project.education.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import project.education.search.SearchDocument;
+import project.education.search.SearchDocumentType;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Repository reading the searchable text of records, used to build the search index from scratch
+ * and to refresh records changed by other instances of the application.
+ * Rows are streamed with plain JDBC, so building the index does not load entities into the persistence context.
+ */
+@Repository
+public class SearchDocumentRepository {
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Constructs a new {@code SearchDocumentRepository}.
+     *
+     * @param jdbcTemplate      the template used to read the tables
+     * @param namedJdbcTemplate the template used for queries with lists of IDs
+     */
+    public SearchDocumentRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+    }
+
+    /**
+     * Reads the searchable text of every record of a type, in ID order.
+     *
+     * @param type     the type of the records
+     * @param consumer the consumer receiving one document per record
+     */
+    public void forEach(SearchDocumentType type, Consumer<SearchDocument> consumer) {
+        String sql = "SELECT " + columns(type) + " FROM " + table(type) + " ORDER BY id";
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            consumer.accept(new SearchDocument(type, rs.getLong(1), rs.getString(2), rs.getString(3)));
+        });
+    }
+
+    /**
+     * Reads the searchable text of records; IDs of records that do not exist are skipped.
+     *
+     * @param type the type of the records
+     * @param ids  the IDs of the records
+     * @return the documents of the existing records
+     */
+    public List<SearchDocument> findAll(SearchDocumentType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return namedJdbcTemplate.query("SELECT " + columns(type) + " FROM " + table(type) + " WHERE id IN (:ids)",
+                Map.of("ids", ids), (rs, rowNum) -> new SearchDocument(type, rs.getLong(1), rs.getString(2), rs.getString(3)));
+    }
+
+    private static String columns(SearchDocumentType type) {
+        return switch (type) {
+            case STUDENT, TEACHER -> "id, name, email";
+            case COURSE -> "id, title, NULL";
+            case TASK -> "id, title, description";
+        };
+    }
+
+    private static String table(SearchDocumentType type) {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+}
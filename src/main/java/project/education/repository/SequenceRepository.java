@@ -0,0 +1,81 @@
+package project.education.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repository for the database sequences that entity IDs are drawn from.
+ * Sequences are used with the pooled-lo optimizer: a value {@code v} returned by the sequence
+ * reserves the IDs from {@code v} to {@code v + allocationSize - 1}, both for Hibernate and for JDBC bulk inserts.
+ *
+ * @see project.education.model.PooledSequence
+ */
+@Repository
+public class SequenceRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+    private final int allocationSize;
+
+    /**
+     * Constructs a new {@code SequenceRepository}.
+     *
+     * @param jdbcTemplate         the template used to call the sequences
+     * @param entityManagerFactory the factory whose SQL dialect is used to call the sequences
+     * @param allocationSize       the number of IDs reserved by one call of a sequence
+     */
+    public SequenceRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                              @Value("${education.ids.allocation-size:50}") int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.allocationSize = allocationSize;
+    }
+
+    /**
+     * Reserves IDs from a sequence, one round trip per block of allocated IDs.
+     *
+     * @param sequence the name of the sequence
+     * @param count    the number of IDs to reserve
+     * @return the reserved IDs in ascending order
+     */
+    public List<Long> allocate(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long first = nextValue(sequence);
+            for (long id = first; id < first + allocationSize && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Moves a sequence past the highest ID of a table, for example after rows were inserted with explicit IDs
+     * or the table was filled by an identity column before it switched to the sequence.
+     * The sequence is never moved backwards.
+     *
+     * @param sequence the name of the sequence
+     * @param table    the table whose {@code id} column is filled from the sequence
+     * @return true if the sequence was moved
+     */
+    public boolean alignWithTable(String sequence, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        if (nextValue(sequence) > maxId) {
+            return false;
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+        return true;
+    }
+
+    private long nextValue(String sequence) {
+        Long value = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+        return value == null ? 0 : value;
+    }
+}
@@ -1,13 +1,75 @@
 package project.education.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import project.education.dto.StudentSummary;
 import project.education.model.Student;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for managing {@link Student} entities.
  * Provides methods for interacting with the database.
  */
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+
+    /**
+     * Finds the next students after the given ID, ordered by ID (keyset pagination).
+     *
+     * @param id       the ID of the last student of the previous slice
+     * @param pageable the slice size; the page number must be zero
+     * @return a slice of students with IDs greater than the given ID
+     */
+    Slice<Student> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Finds the students enrolled in a specific course.
+     *
+     * @param courseId the ID of the course
+     * @return a list of enrolled students ordered by ID
+     */
+    @Query("select s from Student s join s.courses c where c.id = :courseId order by s.id")
+    List<Student> findByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Finds summaries of the next students after the given ID, ordered by ID (keyset pagination).
+     *
+     * @param afterId  the ID of the last student of the previous slice
+     * @param pageable the slice size; the page number must be zero
+     * @return a slice of student summaries
+     */
+    @Query("select new project.education.dto.StudentSummary(s.id, s.name, s.email) from Student s where s.id > :afterId order by s.id")
+    Slice<StudentSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds the summary of a student by ID.
+     *
+     * @param id the ID of the student
+     * @return the student summary, or empty if the student does not exist
+     */
+    @Query("select new project.education.dto.StudentSummary(s.id, s.name, s.email) from Student s where s.id = :id")
+    Optional<StudentSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Finds summaries of the students enrolled in a course, ordered by ID, starting after the given student ID.
+     *
+     * @param courseId the ID of the course
+     * @param afterId  the ID of the last student of the previous slice
+     * @param pageable the slice size; the page number must be zero
+     * @return a slice of student summaries
+     */
+    @Query("""
+            select new project.education.dto.StudentSummary(s.id, s.name, s.email)
+            from Student s join s.courses c
+            where c.id = :courseId and s.id > :afterId
+            order by s.id
+            """)
+    Slice<StudentSummary> findSummariesByCourseId(@Param("courseId") Long courseId, @Param("afterId") Long afterId,
+                                                  Pageable pageable);
 }
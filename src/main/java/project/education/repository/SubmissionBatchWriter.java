@@ -0,0 +1,111 @@
+package project.education.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.education.model.PendingSubmission;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes accepted submissions to the {@code task_submission} table in JDBC batches.
+ * Submissions are grouped by task so that each batch touches one task's rows.
+ * The completion counters of the tasks are updated in the same transaction as the submissions.
+ * <p>
+ * Whether a task accepts answers is decided when a submission is accepted, so submissions to a task
+ * deactivated since then are still written. Submissions to a task deleted since then are not written
+ * and are returned to the caller.
+ */
+@Repository
+public class SubmissionBatchWriter {
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO task_submission (task_id, student_id, answer, completed, submitted_at)
+            SELECT v.task_id, v.student_id, v.answer, TRUE, v.submitted_at
+            FROM (SELECT CAST(? AS BIGINT) AS task_id, CAST(? AS BIGINT) AS student_id,
+                         CAST(? AS VARCHAR) AS answer, CAST(? AS TIMESTAMP) AS submitted_at) v
+            WHERE EXISTS (SELECT 1 FROM task t WHERE t.id = v.task_id)
+              AND NOT EXISTS (SELECT 1 FROM task_submission s
+                              WHERE s.task_id = v.task_id AND s.student_id = v.student_id)
+            """;
+
+    private static final String UPDATE_IF_NEWER = """
+            UPDATE task_submission SET answer = ?, completed = TRUE, submitted_at = ?
+            WHERE task_id = ? AND student_id = ? AND submitted_at <= ?
+            """;
+
+    private static final String TASK_EXISTS = "SELECT COUNT(*) FROM task WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProgressRepository progressRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a new {@code SubmissionBatchWriter}.
+     *
+     * @param jdbcTemplate        the template used to execute the batches
+     * @param progressRepository  the repository maintaining the task completion counters
+     * @param transactionTemplate the template used to write each call's submissions and counters atomically
+     */
+    public SubmissionBatchWriter(JdbcTemplate jdbcTemplate, ProgressRepository progressRepository,
+                                 TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.progressRepository = progressRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Writes the given submissions in one transaction, one JDBC batch per task.
+     * New submissions are inserted first; the rest replace older answers, so the latest answer wins.
+     * Each task's completion counter grows by the number of its inserted submissions.
+     * Submissions to a task deleted while they are written are not inserted, like the rows the deletion removed.
+     *
+     * @param submissions the submissions to write, in acceptance order
+     * @return the submissions that were not written because their task no longer exists
+     */
+    public List<PendingSubmission> write(List<PendingSubmission> submissions) {
+        Map<Long, List<PendingSubmission>> batches = new LinkedHashMap<>();
+        for (PendingSubmission submission : submissions) {
+            batches.computeIfAbsent(submission.taskId(), taskId -> new ArrayList<>()).add(submission);
+        }
+        return transactionTemplate.execute(status -> {
+            Map<Long, Long> inserted = new HashMap<>();
+            List<PendingSubmission> orphaned = new ArrayList<>();
+            for (Map.Entry<Long, List<PendingSubmission>> batch : batches.entrySet()) {
+                Integer tasks = jdbcTemplate.queryForObject(TASK_EXISTS, Integer.class, batch.getKey());
+                if (tasks == null || tasks == 0) {
+                    orphaned.addAll(batch.getValue());
+                } else {
+                    inserted.put(batch.getKey(), writeBatch(batch.getValue()));
+                }
+            }
+            progressRepository.addCompleted(inserted);
+            return orphaned;
+        });
+    }
+
+    private long writeBatch(List<PendingSubmission> batch) {
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, batch.stream()
+                .map(s -> new Object[]{s.taskId(), s.studentId(), s.answer(), Timestamp.from(s.submittedAt())})
+                .toList());
+        long inserted = 0;
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts[i] > 0) {
+                inserted++;
+            } else {
+                PendingSubmission s = batch.get(i);
+                Timestamp submittedAt = Timestamp.from(s.submittedAt());
+                updates.add(new Object[]{s.answer(), submittedAt, s.taskId(), s.studentId(), submittedAt});
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_IF_NEWER, updates);
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,70 @@
+package project.education.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import project.education.dto.SubmissionExportRow;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Reads submissions for export in keyset chunks.
+ * Each chunk continues after the last student ID of the previous one, so a chunk is a range scan of
+ * {@code idx_task_submission_task} on (task_id, student_id) whatever its position in the export,
+ * and no query holds a connection longer than it takes to read one chunk.
+ */
+@Repository
+public class SubmissionExportRepository {
+    private static final String TASK_SUBMISSIONS = """
+            SELECT s.task_id, t.title, s.student_id, st.name, s.answer, s.completed, s.submitted_at
+            FROM task_submission s
+            JOIN task t ON t.id = s.task_id
+            LEFT JOIN student st ON st.id = s.student_id
+            WHERE s.task_id = ? AND s.student_id > ?
+            ORDER BY s.student_id
+            LIMIT ?
+            """;
+
+    private static final String COURSE_TASK_IDS = "SELECT id FROM task WHERE course_id = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a new {@code SubmissionExportRepository}.
+     *
+     * @param jdbcTemplate the template used to run the queries
+     */
+    public SubmissionExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Finds the next chunk of submissions for a task, ordered by student ID.
+     *
+     * @param taskId         the ID of the task
+     * @param afterStudentId the last student ID of the previous chunk, or {@code 0} for the first chunk
+     * @param limit          the largest number of rows to return
+     * @return the submissions of students with a greater ID, at most {@code limit} of them
+     */
+    public List<SubmissionExportRow> findByTaskId(Long taskId, long afterStudentId, int limit) {
+        return jdbcTemplate.query(TASK_SUBMISSIONS, (rs, rowNum) -> toRow(rs), taskId, afterStudentId, limit);
+    }
+
+    /**
+     * Finds the IDs of the tasks of a course, in ascending order.
+     *
+     * @param courseId the ID of the course
+     * @return the task IDs
+     */
+    public List<Long> findTaskIdsByCourseId(Long courseId) {
+        return jdbcTemplate.queryForList(COURSE_TASK_IDS, Long.class, courseId);
+    }
+
+    private static SubmissionExportRow toRow(ResultSet rs) throws SQLException {
+        Timestamp submittedAt = rs.getTimestamp(7);
+        return new SubmissionExportRow(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4),
+                rs.getString(5), rs.getBoolean(6), submittedAt == null ? null : submittedAt.toLocalDateTime());
+    }
+}
@@ -0,0 +1,121 @@
+package project.education.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.education.dto.SubmissionSummary;
+import project.education.dto.TaskResponseRow;
+import project.education.model.Submission;
+import project.education.model.SubmissionId;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link Submission} entities.
+ * Provides methods for interacting with the database.
+ */
+@Repository
+public interface SubmissionRepository extends JpaRepository<Submission, SubmissionId> {
+
+    /**
+     * Inserts the first submission of a student for an active task.
+     * The active flag is checked by the same statement, so a submission cannot slip past a concurrent deactivation.
+     *
+     * @param taskId    the ID of the task
+     * @param studentId the ID of the student
+     * @param answer    the answer of the student
+     * @return 1 if the submission was inserted, 0 if it already exists or the task does not exist or is inactive
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_submission (task_id, student_id, answer, completed, submitted_at)
+            SELECT t.id, CAST(:studentId AS BIGINT), :answer, TRUE, CURRENT_TIMESTAMP
+            FROM task t
+            WHERE t.id = :taskId AND t.active = TRUE
+              AND NOT EXISTS (SELECT 1 FROM task_submission s WHERE s.task_id = t.id AND s.student_id = :studentId)
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("taskId") Long taskId, @Param("studentId") Long studentId, @Param("answer") String answer);
+
+    /**
+     * Replaces the answer of an existing submission for an active task and marks it completed.
+     *
+     * @param taskId    the ID of the task
+     * @param studentId the ID of the student
+     * @param answer    the new answer of the student
+     * @return 1 if the submission was updated, 0 if it does not exist or the task does not exist or is inactive
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE task_submission s SET answer = :answer, completed = TRUE, submitted_at = CURRENT_TIMESTAMP
+            WHERE s.task_id = :taskId AND s.student_id = :studentId
+              AND EXISTS (SELECT 1 FROM task t WHERE t.id = s.task_id AND t.active = TRUE)
+            """, nativeQuery = true)
+    int updateAnswer(@Param("taskId") Long taskId, @Param("studentId") Long studentId, @Param("answer") String answer);
+
+    /**
+     * Finds all submissions for a specific task.
+     *
+     * @param taskId the ID of the task
+     * @return a list of submissions for the specified task
+     */
+    List<Submission> findByTaskId(Long taskId);
+
+    /**
+     * Finds the responses to a task joined with the names of the students who submitted them,
+     * sorted by student name.
+     *
+     * @param taskId   the ID of the task
+     * @param pageable the page to return
+     * @return a page of response rows
+     */
+    @Query(value = """
+            select new project.education.dto.TaskResponseRow(s.studentId, st.name, s.answer)
+            from Submission s left join Student st on st.id = s.studentId
+            where s.taskId = :taskId
+            order by st.name, s.studentId
+            """,
+            countQuery = "select count(s) from Submission s where s.taskId = :taskId")
+    Page<TaskResponseRow> findResponseRows(@Param("taskId") Long taskId, Pageable pageable);
+
+    /**
+     * Finds the IDs of the given tasks that a student has completed.
+     *
+     * @param studentId the ID of the student
+     * @param taskIds   the IDs of the tasks to check
+     * @return the IDs of the completed tasks
+     */
+    @Query("select s.taskId from Submission s where s.studentId = :studentId and s.taskId in :taskIds and s.completed = true")
+    List<Long> findCompletedTaskIds(@Param("studentId") Long studentId, @Param("taskIds") Collection<Long> taskIds);
+
+    /**
+     * Deletes all submissions for a specific task.
+     *
+     * @param taskId the ID of the task
+     */
+    @Modifying
+    @Query("delete from Submission s where s.taskId = :taskId")
+    void deleteByTaskId(@Param("taskId") Long taskId);
+
+    /**
+     * Finds summaries of the submissions for a task, ordered by student ID, starting after the given student ID.
+     *
+     * @param taskId   the ID of the task
+     * @param afterId  the ID of the student of the last submission of the previous slice
+     * @param pageable the slice size; the page number must be zero
+     * @return a slice of submission summaries
+     */
+    @Query("""
+            select new project.education.dto.SubmissionSummary(s.taskId, s.studentId, s.answer, s.completed, s.submittedAt)
+            from Submission s
+            where s.taskId = :taskId and s.studentId > :afterId
+            order by s.studentId
+            """)
+    Slice<SubmissionSummary> findSummariesByTaskId(@Param("taskId") Long taskId, @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+}
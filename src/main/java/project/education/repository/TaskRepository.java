@@ -1,10 +1,17 @@
 package project.education.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import project.education.dto.TaskSummary;
 import project.education.model.Task;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link Task} entities.
@@ -19,7 +26,52 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      * @param courseId the ID of the course
      * @return a list of tasks belonging to the specified course
      */
-    List<Task> findByCourseId(Long courseId);
-}
+    @Query("select t from Task t where t.course.id = :courseId")
+    List<Task> findByCourseId(@Param("courseId") Long courseId);
 
+    /**
+     * Finds the active flag of a task without loading the task itself.
+     *
+     * @param id the ID of the task
+     * @return the active flag of the task, or empty if the task does not exist
+     */
+    @Query("select t.active from Task t where t.id = :id")
+    Optional<Boolean> findActiveById(@Param("id") Long id);
 
+    /**
+     * Sets the active flag of a task with a single UPDATE, without loading the task, and increments its version.
+     *
+     * @param id     the ID of the task
+     * @param active the new value of the active flag
+     * @return the number of updated rows, 0 if the task does not exist
+     */
+    @Modifying
+    @Query("update Task t set t.active = :active, t.version = t.version + 1 where t.id = :id")
+    int updateActive(@Param("id") Long id, @Param("active") boolean active);
+
+    /**
+     * Finds summaries of the tasks of a course, ordered by ID, starting after the given task ID.
+     *
+     * @param courseId the ID of the course
+     * @param afterId  the ID of the last task of the previous slice
+     * @param pageable the slice size; the page number must be zero
+     * @return a slice of task summaries
+     */
+    @Query("""
+            select new project.education.dto.TaskSummary(t.id, t.title, t.description, t.active, t.course.id)
+            from Task t
+            where t.course.id = :courseId and t.id > :afterId
+            order by t.id
+            """)
+    Slice<TaskSummary> findSummariesByCourseId(@Param("courseId") Long courseId, @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    /**
+     * Finds the summary of a task by ID.
+     *
+     * @param id the ID of the task
+     * @return the task summary, or empty if the task does not exist
+     */
+    @Query("select new project.education.dto.TaskSummary(t.id, t.title, t.description, t.active, t.course.id) from Task t where t.id = :id")
+    Optional<TaskSummary> findSummaryById(@Param("id") Long id);
+}
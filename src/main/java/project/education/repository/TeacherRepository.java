@@ -1,13 +1,48 @@
 package project.education.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import project.education.dto.TeacherSummary;
 import project.education.model.Teacher;
 
+import java.util.Optional;
+
 /**
  * Repository interface for managing {@link Teacher} entities.
  * Provides methods for interacting with the database.
  */
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+
+    /**
+     * Finds the next teachers after the given ID, ordered by ID (keyset pagination).
+     *
+     * @param id       the ID of the last teacher of the previous slice
+     * @param pageable the slice size; the page number must be zero
+     * @return a slice of teachers with IDs greater than the given ID
+     */
+    Slice<Teacher> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Finds summaries of the next teachers after the given ID, ordered by ID (keyset pagination).
+     *
+     * @param afterId  the ID of the last teacher of the previous slice
+     * @param pageable the slice size; the page number must be zero
+     * @return a slice of teacher summaries
+     */
+    @Query("select new project.education.dto.TeacherSummary(t.id, t.name, t.email) from Teacher t where t.id > :afterId order by t.id")
+    Slice<TeacherSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Finds the summary of a teacher by ID.
+     *
+     * @param id the ID of the teacher
+     * @return the teacher summary, or empty if the teacher does not exist
+     */
+    @Query("select new project.education.dto.TeacherSummary(t.id, t.name, t.email) from Teacher t where t.id = :id")
+    Optional<TeacherSummary> findSummaryById(@Param("id") Long id);
 }
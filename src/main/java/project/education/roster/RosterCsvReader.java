@@ -0,0 +1,93 @@
+package project.education.roster;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a roster CSV file one record at a time, so files of any size are parsed with constant memory.
+ * Records have the fields {@code name,email,course_ids}; fields may be quoted with double quotes,
+ * and a doubled quote inside a quoted field stands for one quote.
+ * A first line starting with {@code name} is treated as a header and skipped, and so are blank lines
+ * and a leading byte order mark.
+ */
+public class RosterCsvReader implements Closeable {
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    /**
+     * Constructs a new reader over the given character stream.
+     *
+     * @param reader the roster file
+     */
+    public RosterCsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next record, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    public RosterRow next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+            if (line.isBlank() || (lineNumber == 1 && line.trim().toLowerCase(Locale.ROOT).startsWith("name"))) {
+                continue;
+            }
+            List<String> fields = split(line);
+            return new RosterRow(lineNumber, field(fields, 0), field(fields, 1), field(fields, 2));
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
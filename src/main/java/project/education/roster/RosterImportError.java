@@ -0,0 +1,10 @@
+package project.education.roster;
+
+/**
+ * A problem found in one record of a roster file. The rest of the file is imported regardless.
+ *
+ * @param line    the line number of the record, or 0 if the problem is not tied to one record
+ * @param message a description of the problem
+ */
+public record RosterImportError(long line, String message) {
+}
@@ -0,0 +1,106 @@
+package project.education.roster;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a roster import: how many records were read, what was created and which records had problems.
+ * Only the first {@value #MAX_ERRORS} problems are kept; all of them are counted.
+ */
+public class RosterImportReport {
+    /**
+     * The maximum number of problems kept in the report.
+     */
+    public static final int MAX_ERRORS = 1000;
+
+    private long rowsRead;
+    private long studentsCreated;
+    private long studentsMatched;
+    private long enrollmentsCreated;
+    private long errorCount;
+    private final List<RosterImportError> errors = new ArrayList<>();
+
+    void addRowsRead(long count) {
+        rowsRead += count;
+    }
+
+    void addStudentsCreated(long count) {
+        studentsCreated += count;
+    }
+
+    void addStudentsMatched(long count) {
+        studentsMatched += count;
+    }
+
+    void addEnrollmentsCreated(long count) {
+        enrollmentsCreated += count;
+    }
+
+    void addError(long line, String message) {
+        errorCount++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RosterImportError(line, message));
+        }
+    }
+
+    /**
+     * Gets the number of records read from the file.
+     *
+     * @return the number of records
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Gets the number of students created by the import.
+     *
+     * @return the number of new students
+     */
+    public long getStudentsCreated() {
+        return studentsCreated;
+    }
+
+    /**
+     * Gets the number of records whose email belonged to an existing student or to an earlier record of the file.
+     *
+     * @return the number of matched records
+     */
+    public long getStudentsMatched() {
+        return studentsMatched;
+    }
+
+    /**
+     * Gets the number of enrollments created by the import.
+     *
+     * @return the number of new enrollments
+     */
+    public long getEnrollmentsCreated() {
+        return enrollmentsCreated;
+    }
+
+    /**
+     * Gets the number of problems found, including those not kept in {@link #getErrors()}.
+     *
+     * @return the number of problems
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Gets the first problems found, in file order.
+     *
+     * @return an unmodifiable list of at most {@value #MAX_ERRORS} problems
+     */
+    public List<RosterImportError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    @Override
+    public String toString() {
+        return rowsRead + " records, " + studentsCreated + " new students, " + studentsMatched + " matched students, "
+                + enrollmentsCreated + " new enrollments, " + errorCount + " errors";
+    }
+}
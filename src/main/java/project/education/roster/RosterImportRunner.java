@@ -0,0 +1,71 @@
+package project.education.roster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Imports a roster file on startup when {@code education.roster.import-file} is set, for example:
+ * <pre>
+ * gradle bootRun --args='--education.roster.import-file=roster.csv --spring.main.web-application-type=none'
+ * </pre>
+ * Without a web server the application is closed once the import is done.
+ */
+@Component
+@ConditionalOnProperty(name = "education.roster.import-file")
+public class RosterImportRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(RosterImportRunner.class);
+
+    private final RosterImportService importService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+
+    /**
+     * Constructs a new {@code RosterImportRunner}.
+     *
+     * @param importService the service performing the import
+     * @param context       the application context, closed after the import when there is no web server
+     * @param file          the roster file to import, encoded in UTF-8
+     */
+    public RosterImportRunner(RosterImportService importService, ConfigurableApplicationContext context,
+                              @Value("${education.roster.import-file}") Path file) {
+        this.importService = importService;
+        this.context = context;
+        this.file = file;
+    }
+
+    /**
+     * Imports the configured file and logs the problems found in it.
+     *
+     * @param args the application arguments
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        RosterImportReport report;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            report = importService.importRoster(reader);
+        }
+        for (RosterImportError error : report.getErrors()) {
+            log.warn("{} line {}: {}", file, error.line(), error.message());
+        }
+        if (report.getErrorCount() > report.getErrors().size()) {
+            log.warn("{}: {} more errors not shown", file, report.getErrorCount() - report.getErrors().size());
+        }
+        if (!(context instanceof WebServerApplicationContext)) {
+            context.close();
+        }
+    }
+}
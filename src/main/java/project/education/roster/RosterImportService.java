@@ -0,0 +1,271 @@
+package project.education.roster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.education.fragment.FragmentCache;
+import project.education.model.Student;
+import project.education.repository.EnrollmentRepository;
+import project.education.repository.RosterRepository;
+import project.education.repository.SequenceRepository;
+import project.education.search.SearchDocument;
+import project.education.search.SearchDocumentType;
+import project.education.search.SearchService;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Imports students and their enrollments from a roster CSV file.
+ * <p>
+ * The file is parsed one record at a time and written in chunks of {@value #CHUNK_SIZE} records,
+ * each in its own transaction: existing students are looked up by email with one query per chunk,
+ * new students get IDs reserved from the student sequence and are inserted with JDBC batches,
+ * and all enrollments of the chunk are inserted with one batch.
+ * Students are deduplicated by email, both against the database and within the file.
+ * Created students are added to the search index and the cached rosters of the enrolled courses
+ * are invalidated once their chunk commits.
+ * Invalid records are reported and skipped; they do not abort the import. Neither do records the database
+ * rejects when their chunk is written: the chunk is split until they are found, and they are reported by line.
+ */
+@Service
+public class RosterImportService {
+    private static final Logger log = LoggerFactory.getLogger(RosterImportService.class);
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final Pattern COURSE_ID_SEPARATOR = Pattern.compile("[;\\s]+");
+
+    private final RosterRepository rosterRepository;
+    private final SequenceRepository sequenceRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SearchService searchService;
+    private final FragmentCache fragmentCache;
+
+    /**
+     * Constructs a new {@code RosterImportService}.
+     *
+     * @param rosterRepository     the repository used to look up and insert students
+     * @param sequenceRepository   the repository used to reserve student IDs
+     * @param enrollmentRepository the repository used to insert enrollments
+     * @param transactionTemplate  the template used to write each chunk atomically
+     * @param searchService        the search service indexing the created students
+     * @param fragmentCache        the cache of rendered rosters and course lists to invalidate
+     */
+    public RosterImportService(RosterRepository rosterRepository, SequenceRepository sequenceRepository,
+                               EnrollmentRepository enrollmentRepository, TransactionTemplate transactionTemplate,
+                               SearchService searchService, FragmentCache fragmentCache) {
+        this.rosterRepository = rosterRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.searchService = searchService;
+        this.fragmentCache = fragmentCache;
+    }
+
+    /**
+     * Imports a roster file with the fields {@code name,email,course_ids}.
+     * Progress is logged after every chunk.
+     *
+     * @param roster the roster file; it is read to the end but not closed
+     * @return the report of the import
+     * @throws IOException if the file cannot be read
+     */
+    public RosterImportReport importRoster(Reader roster) throws IOException {
+        long started = System.nanoTime();
+        RosterImportReport report = new RosterImportReport();
+        ImportState state = new ImportState();
+        RosterCsvReader reader = new RosterCsvReader(roster);
+        List<RosterRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        RosterRow row;
+        while ((row = reader.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, state, report);
+                chunk.clear();
+                log.info("Roster import in progress: {}", report);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, state, report);
+        }
+        log.info("Roster import finished in {} ms: {}", (System.nanoTime() - started) / 1_000_000, report);
+        return report;
+    }
+
+    private void importChunk(List<RosterRow> rows, ImportState state, RosterImportReport report) {
+        report.addRowsRead(rows.size());
+        List<ValidRow> valid = validate(rows, state, report);
+        try {
+            writeOrSplit(valid, state, report);
+        } catch (DataAccessException e) {
+            log.warn("Cannot import roster lines {}-{}", rows.get(0).line(), rows.get(rows.size() - 1).line(), e);
+            report.addError(rows.get(0).line(), "Рядки " + rows.get(0).line() + "–" + rows.get(rows.size() - 1).line()
+                    + " не імпортовано: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Writes rows, looking for the rows the database rejects by splitting them in halves.
+     * A row is rejected, for example, when another writer inserted a student with its email after the lookup,
+     * or when one of its courses was deleted after validation. Each rejected row is reported on its own line;
+     * the rows of a half that was written stay written.
+     *
+     * @param rows   the validated rows to write
+     * @param state  what the import has learned so far
+     * @param report the report of the import
+     * @throws DataAccessException if the rows fail for a reason other than their data
+     */
+    private void writeOrSplit(List<ValidRow> rows, ImportState state, RosterImportReport report) {
+        try {
+            write(rows, state, report);
+        } catch (DataIntegrityViolationException e) {
+            if (rows.size() == 1) {
+                log.warn("Cannot import roster line {}: {}", rows.get(0).line(), e.getMostSpecificCause().getMessage());
+                report.addError(rows.get(0).line(), "Рядок не імпортовано: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            int half = rows.size() / 2;
+            writeOrSplit(rows.subList(0, half), state, report);
+            writeOrSplit(rows.subList(half, rows.size()), state, report);
+        }
+    }
+
+    private void write(List<ValidRow> valid, ImportState state, RosterImportReport report) {
+        Set<String> unknownEmails = new LinkedHashSet<>();
+        for (ValidRow row : valid) {
+            if (!state.studentIds.containsKey(row.email())) {
+                unknownEmails.add(row.email());
+            }
+        }
+        WrittenRows written = transactionTemplate.execute(status -> {
+            Map<String, Long> chunkIds = new HashMap<>(rosterRepository.findStudentIdsByEmail(unknownEmails));
+            List<Object[]> newStudents = new ArrayList<>();
+            List<SearchDocument> newDocuments = new ArrayList<>();
+            List<ValidRow> toCreate = valid.stream()
+                    .filter(row -> !state.studentIds.containsKey(row.email()) && !chunkIds.containsKey(row.email()))
+                    .toList();
+            List<Long> ids = sequenceRepository.allocate(Student.ID_SEQUENCE,
+                    (int) toCreate.stream().map(ValidRow::email).distinct().count());
+            int next = 0;
+            for (ValidRow row : toCreate) {
+                if (!chunkIds.containsKey(row.email())) {
+                    Long id = ids.get(next++);
+                    chunkIds.put(row.email(), id);
+                    newStudents.add(new Object[]{id, row.name(), row.email()});
+                    newDocuments.add(new SearchDocument(SearchDocumentType.STUDENT, id, row.name(), row.email()));
+                }
+            }
+            Map<Long, Set<Long>> enrollments = new LinkedHashMap<>();
+            for (ValidRow row : valid) {
+                Long studentId = state.studentIds.getOrDefault(row.email(), chunkIds.get(row.email()));
+                for (Long courseId : row.courseIds()) {
+                    enrollments.computeIfAbsent(courseId, key -> new LinkedHashSet<>()).add(studentId);
+                }
+            }
+            rosterRepository.insertStudents(newStudents);
+            searchService.indexAfterCommit(newDocuments);
+            int created = enrollmentRepository.enrollAll(enrollments);
+            enrollments.forEach((courseId, studentIds) -> {
+                fragmentCache.invalidateRoster(courseId);
+                fragmentCache.invalidateEnrollments(studentIds);
+            });
+            return new WrittenRows(chunkIds, newStudents.size(), created);
+        });
+        state.studentIds.putAll(written.studentIds());
+        report.addStudentsCreated(written.studentsCreated());
+        report.addStudentsMatched(valid.size() - written.studentsCreated());
+        report.addEnrollmentsCreated(written.enrollmentsCreated());
+    }
+
+    private List<ValidRow> validate(List<RosterRow> rows, ImportState state, RosterImportReport report) {
+        Set<Long> referenced = new HashSet<>();
+        for (RosterRow row : rows) {
+            parseCourseIds(row.courseIds(), new ArrayList<>()).stream()
+                    .filter(id -> !state.existingCourses.contains(id) && !state.missingCourses.contains(id))
+                    .forEach(referenced::add);
+        }
+        Set<Long> existing = rosterRepository.findExistingCourseIds(referenced);
+        state.existingCourses.addAll(existing);
+        referenced.removeAll(existing);
+        state.missingCourses.addAll(referenced);
+
+        List<ValidRow> valid = new ArrayList<>(rows.size());
+        for (RosterRow row : rows) {
+            if (row.name() == null) {
+                report.addError(row.line(), "Не вказано ім'я студента");
+                continue;
+            }
+            if (row.email() == null || !row.email().contains("@")) {
+                report.addError(row.line(), "Некоректний email: " + (row.email() == null ? "" : row.email()));
+                continue;
+            }
+            List<String> invalid = new ArrayList<>();
+            List<Long> courseIds = new ArrayList<>();
+            for (Long courseId : parseCourseIds(row.courseIds(), invalid)) {
+                if (state.existingCourses.contains(courseId)) {
+                    courseIds.add(courseId);
+                } else {
+                    report.addError(row.line(), "Курс з ID " + courseId + " не знайдено");
+                }
+            }
+            for (String token : invalid) {
+                report.addError(row.line(), "Некоректний ID курсу: " + token);
+            }
+            valid.add(new ValidRow(row.line(), row.name(), row.email(), courseIds));
+        }
+        return valid;
+    }
+
+    private static List<Long> parseCourseIds(String field, List<String> invalid) {
+        List<Long> ids = new ArrayList<>();
+        if (field == null) {
+            return ids;
+        }
+        for (String token : COURSE_ID_SEPARATOR.split(field)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            try {
+                ids.add(Long.parseLong(token));
+            } catch (NumberFormatException e) {
+                invalid.add(token);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * A validated record: the email is present and the course IDs refer to existing courses.
+     */
+    private record ValidRow(long line, String name, String email, List<Long> courseIds) {
+    }
+
+    /**
+     * The outcome of a committed write: the IDs of the students of its rows, keyed by email,
+     * and the numbers of students and enrollments it created.
+     */
+    private record WrittenRows(Map<String, Long> studentIds, int studentsCreated, int enrollmentsCreated) {
+    }
+
+    /**
+     * What the import has learned so far about the students and courses referenced by the file.
+     */
+    private static final class ImportState {
+        private final Map<String, Long> studentIds = new HashMap<>();
+        private final Set<Long> existingCourses = new HashSet<>();
+        private final Set<Long> missingCourses = new HashSet<>();
+    }
+}
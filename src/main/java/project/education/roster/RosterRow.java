@@ -0,0 +1,12 @@
+package project.education.roster;
+
+/**
+ * One record of a roster CSV file, as read before validation.
+ *
+ * @param line      the line number of the record in the file, starting at 1
+ * @param name      the name of the student, or null if the field is missing
+ * @param email     the email of the student, or null if the field is missing
+ * @param courseIds the IDs of the courses to enroll in, separated by semicolons or spaces, or null if the field is missing
+ */
+public record RosterRow(long line, String name, String email, String courseIds) {
+}
@@ -0,0 +1,77 @@
+package project.education.search;
+
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Task;
+import project.education.model.Teacher;
+
+/**
+ * The searchable text of one record: a title that ranks higher and an optional detail.
+ *
+ * @param type   the type of the record
+ * @param id     the ID of the record
+ * @param title  the name or title of the record
+ * @param detail the email of a person or the description of a task, or null
+ */
+public record SearchDocument(SearchDocumentType type, long id, String title, String detail) {
+
+    /**
+     * Creates the document of a student, searchable by name and email.
+     *
+     * @param student the student
+     * @return the document of the student
+     */
+    public static SearchDocument of(Student student) {
+        return new SearchDocument(SearchDocumentType.STUDENT, student.getId(), student.getName(), student.getEmail());
+    }
+
+    /**
+     * Creates the document of a teacher, searchable by name and email.
+     *
+     * @param teacher the teacher
+     * @return the document of the teacher
+     */
+    public static SearchDocument of(Teacher teacher) {
+        return new SearchDocument(SearchDocumentType.TEACHER, teacher.getId(), teacher.getName(), teacher.getEmail());
+    }
+
+    /**
+     * Creates the document of a course, searchable by title.
+     *
+     * @param course the course
+     * @return the document of the course
+     */
+    public static SearchDocument of(Course course) {
+        return new SearchDocument(SearchDocumentType.COURSE, course.getId(), course.getTitle(), null);
+    }
+
+    /**
+     * Creates the document of a task, searchable by title and description.
+     *
+     * @param task the task
+     * @return the document of the task
+     */
+    public static SearchDocument of(Task task) {
+        return new SearchDocument(SearchDocumentType.TASK, task.getId(), task.getTitle(), task.getDescription());
+    }
+
+    /**
+     * Computes a 64-bit hash of the whole document, a missing title or detail counting as empty.
+     * Sums of these hashes compare the index with the database regardless of order.
+     *
+     * @return the hash of the document
+     */
+    public long fingerprint() {
+        long hash = 1125899906842597L;
+        hash = 31 * hash + type.ordinal();
+        hash = 31 * hash + id;
+        for (String text : new String[]{title, detail}) {
+            String value = text == null ? "" : text;
+            for (int i = 0; i < value.length(); i++) {
+                hash = 31 * hash + value.charAt(i);
+            }
+            hash = 31 * hash + value.length();
+        }
+        return hash;
+    }
+}
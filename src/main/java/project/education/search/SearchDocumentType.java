@@ -0,0 +1,38 @@
+package project.education.search;
+
+/**
+ * The kinds of records covered by the search index, with the label and page shown for a search result.
+ */
+public enum SearchDocumentType {
+    STUDENT("Студент", "/student/"),
+    TEACHER("Викладач", "/teacher/"),
+    COURSE("Курс", "/course/teacher/"),
+    TASK("Завдання", "/task/");
+
+    private final String label;
+    private final String pathPrefix;
+
+    SearchDocumentType(String label, String pathPrefix) {
+        this.label = label;
+        this.pathPrefix = pathPrefix;
+    }
+
+    /**
+     * Gets the label of the type shown next to a search result.
+     *
+     * @return the label of the type
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Builds the link to the page of a record of this type.
+     *
+     * @param id the ID of the record
+     * @return the path of the page
+     */
+    public String link(long id) {
+        return this == TASK ? pathPrefix + id + "/responses" : pathPrefix + id;
+    }
+}
@@ -0,0 +1,305 @@
+package project.education.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.education.dto.SearchHit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded Lucene index of the searchable text of students, teachers, courses and tasks.
+ * <p>
+ * Writes go to a single {@link IndexWriter} and become visible to searches immediately,
+ * because every search first refreshes the near-real-time reader if the index changed.
+ * Changes are committed to disk periodically and on shutdown; changes lost in a crash
+ * are repaired by {@link SearchService} when it finds the index out of step with the database.
+ * When no index directory is configured, the index is kept in memory.
+ * <p>
+ * Every document carries the generation current when it was written. A rebuild starts a new generation,
+ * replaces the documents one by one and then removes those left from older generations, so searches
+ * never see a partly emptied index.
+ */
+@Component
+public class SearchIndex implements AutoCloseable {
+    static final String KEY = "key";
+    static final String TYPE = "type";
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String DETAIL = "detail";
+    static final String GENERATION = "generation";
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ReadWriteLock generationLock = new ReentrantReadWriteLock();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Opens the index, creating it if it does not exist.
+     *
+     * @param indexDir the directory of the index, or blank for an in-memory index
+     */
+    public SearchIndex(@Value("${education.search.index-dir:}") String indexDir) {
+        try {
+            directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(writer, null);
+            generation.set(withSearcher(SearchIndex::maxGeneration));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не вдалося відкрити пошуковий індекс " + indexDir, e);
+        }
+    }
+
+    /**
+     * Adds or replaces the documents of records.
+     *
+     * @param documents the documents to index
+     */
+    public void update(Collection<SearchDocument> documents) {
+        generationLock.readLock().lock();
+        try {
+            for (SearchDocument document : documents) {
+                writer.updateDocument(new Term(KEY, key(document.type(), document.id())),
+                        toLucene(document, generation.get()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не вдалося оновити пошуковий індекс", e);
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the document of a record.
+     *
+     * @param type the type of the record
+     * @param id   the ID of the record
+     */
+    public void delete(SearchDocumentType type, long id) {
+        try {
+            writer.deleteDocuments(new Term(KEY, key(type, id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не вдалося оновити пошуковий індекс", e);
+        }
+    }
+
+    /**
+     * Starts a new generation: documents written from now on, by a rebuild or by any other update, carry it.
+     * Updates in progress finish before the generation changes, so none of them is written with an older one.
+     *
+     * @return the new generation
+     */
+    public long nextGeneration() {
+        generationLock.writeLock().lock();
+        try {
+            return generation.incrementAndGet();
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the documents of a type written before the given generation started,
+     * which after a rebuild are those of records no longer in the database.
+     *
+     * @param type       the type of the records
+     * @param generation the generation of the rebuild
+     */
+    public void deleteOlderGenerations(SearchDocumentType type, long generation) {
+        Query older = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER)
+                .add(LongPoint.newRangeQuery(GENERATION, generation, Long.MAX_VALUE), BooleanClause.Occur.MUST_NOT)
+                .build();
+        try {
+            writer.deleteDocuments(older);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не вдалося оновити пошуковий індекс", e);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the indexed documents of every type,
+     * the sum of {@link SearchDocument#fingerprint()} over the documents.
+     *
+     * @return the fingerprints by type; types without documents are missing
+     */
+    public Map<SearchDocumentType, Long> fingerprints() {
+        return withSearcher(searcher -> {
+            Map<SearchDocumentType, Long> fingerprints = new EnumMap<>(SearchDocumentType.class);
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                Bits liveDocs = leaf.reader().getLiveDocs();
+                StoredFields storedFields = leaf.reader().storedFields();
+                for (int doc = 0; doc < leaf.reader().maxDoc(); doc++) {
+                    if (liveDocs == null || liveDocs.get(doc)) {
+                        SearchDocument document = fromLucene(storedFields.document(doc));
+                        fingerprints.merge(document.type(), document.fingerprint(), Long::sum);
+                    }
+                }
+            }
+            return fingerprints;
+        });
+    }
+
+    /**
+     * Runs a query and returns the best matching documents.
+     *
+     * @param query the query
+     * @param limit the maximum number of results
+     * @return the results, best match first
+     */
+    public List<SearchHit> search(Query query, int limit) {
+        return withSearcher(searcher -> {
+            ScoreDoc[] scoreDocs = searcher.search(query, limit).scoreDocs;
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHit> hits = new ArrayList<>(scoreDocs.length);
+            for (ScoreDoc scoreDoc : scoreDocs) {
+                SearchDocument document = fromLucene(storedFields.document(scoreDoc.doc));
+                hits.add(new SearchHit(document.type(), document.id(), document.title(), document.detail()));
+            }
+            return hits;
+        });
+    }
+
+    /**
+     * Splits text into the terms the index is built from: lower-cased words, numbers and email parts.
+     *
+     * @param text the text to analyze
+     * @return the terms of the text in order
+     */
+    public List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не вдалося розібрати пошуковий запит", e);
+        }
+        return terms;
+    }
+
+    /**
+     * Commits the changes made since the last commit, so they survive a restart.
+     */
+    @Scheduled(fixedDelayString = "${education.search.commit-interval-ms:5000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.warn("Не вдалося зберегти пошуковий індекс", e);
+        }
+    }
+
+    /**
+     * Commits the pending changes and closes the index when the application context is closed.
+     *
+     * @throws IOException if the index cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private <T> T withSearcher(SearcherCallback<T> callback) {
+        try {
+            searcherManager.maybeRefreshBlocking();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return callback.apply(searcher);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не вдалося виконати пошук в індексі", e);
+        }
+    }
+
+    private static long maxGeneration(IndexSearcher searcher) throws IOException {
+        long max = 0;
+        for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+            PointValues points = leaf.reader().getPointValues(GENERATION);
+            if (points != null) {
+                max = Math.max(max, LongPoint.decodeDimension(points.getMaxPackedValue(), 0));
+            }
+        }
+        return max;
+    }
+
+    private static SearchDocument fromLucene(Document document) {
+        return new SearchDocument(SearchDocumentType.valueOf(document.get(TYPE)),
+                document.getField(ID).numericValue().longValue(), document.get(TITLE), document.get(DETAIL));
+    }
+
+    private static Document toLucene(SearchDocument document, long generation) {
+        Document lucene = new Document();
+        lucene.add(new StringField(KEY, key(document.type(), document.id()), Field.Store.NO));
+        lucene.add(new StringField(TYPE, document.type().name(), Field.Store.YES));
+        lucene.add(new StoredField(ID, document.id()));
+        lucene.add(new LongPoint(GENERATION, generation));
+        lucene.add(new TextField(TITLE, document.title() == null ? "" : document.title(), Field.Store.YES));
+        if (document.detail() != null) {
+            lucene.add(new TextField(DETAIL, document.detail(), Field.Store.YES));
+        }
+        return lucene;
+    }
+
+    private static String key(SearchDocumentType type, long id) {
+        return type.name() + ":" + id;
+    }
+
+    @FunctionalInterface
+    private interface SearcherCallback<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+}
@@ -0,0 +1,123 @@
+package project.education.search;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Task;
+import project.education.model.Teacher;
+
+import java.util.List;
+
+/**
+ * Updates the search index after a transaction that inserted, updated or deleted a student, teacher, course
+ * or task through Hibernate commits, including changes cascaded from another entity.
+ * A failed index update is logged and does not affect the committed transaction.
+ */
+@Component
+public class SearchIndexListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexListener.class);
+
+    private final SearchIndex searchIndex;
+
+    /**
+     * Constructs a new {@code SearchIndexListener} and registers it with Hibernate.
+     *
+     * @param searchIndex          the index to update
+     * @param entityManagerFactory the entity manager factory whose changes are indexed
+     */
+    public SearchIndexListener(SearchIndex searchIndex, EntityManagerFactory entityManagerFactory) {
+        this.searchIndex = searchIndex;
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        index(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        index(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        SearchDocument document = toDocument(event.getEntity());
+        if (document != null) {
+            try {
+                searchIndex.delete(document.type(), document.id());
+            } catch (RuntimeException e) {
+                log.warn("Не вдалося видалити {} {} з пошукового індексу", document.type(), document.id(), e);
+            }
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    /**
+     * Asks Hibernate to notify this listener only about the indexed entities.
+     *
+     * @param persister the persister of the changed entity
+     * @return true if the entity is indexed
+     */
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Student.class || type == Teacher.class || type == Course.class || type == Task.class;
+    }
+
+    private void index(Object entity) {
+        SearchDocument document = toDocument(entity);
+        if (document != null) {
+            try {
+                searchIndex.update(List.of(document));
+            } catch (RuntimeException e) {
+                log.warn("Не вдалося оновити {} {} у пошуковому індексі", document.type(), document.id(), e);
+            }
+        }
+    }
+
+    private static SearchDocument toDocument(Object entity) {
+        if (entity instanceof Student student) {
+            return SearchDocument.of(student);
+        }
+        if (entity instanceof Teacher teacher) {
+            return SearchDocument.of(teacher);
+        }
+        if (entity instanceof Course course) {
+            return SearchDocument.of(course);
+        }
+        if (entity instanceof Task task) {
+            return SearchDocument.of(task);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,297 @@
+package project.education.search;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import project.education.cluster.InvalidationBus;
+import project.education.cluster.InvalidationEvent;
+import project.education.dto.SearchHit;
+import project.education.repository.SearchDocumentRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search across students, teachers, courses and tasks.
+ * <p>
+ * Every word of a query must match a word of the title or detail of a record, either exactly,
+ * as a prefix, or with up to one typo (two for long words); exact matches and title matches rank higher.
+ * Words with digits or punctuation, such as the parts of an email, must match exactly or as a prefix.
+ * The index is kept up to date by {@link SearchIndexListener} for changes made through Hibernate
+ * and by {@link #indexAfterCommit} for rows inserted with JDBC. Every instance of the application keeps its own
+ * index and re-reads the records other instances changed from the database, see {@link InvalidationBus}.
+ * At startup the index is compared with the database by a fingerprint of the text of every record
+ * and rebuilt in the background where they differ, for example on first start or after a crash lost changes
+ * that were not yet committed to the index. A rebuild replaces documents in place, see {@link SearchIndex},
+ * so searches keep finding every record while it runs.
+ */
+@Service
+public class SearchService implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MIN_TWO_TYPO_LENGTH = 8;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final SearchIndex searchIndex;
+    private final SearchDocumentRepository documentRepository;
+    private final InvalidationBus invalidationBus;
+
+    private volatile Thread rebuilder;
+    private volatile boolean running;
+
+    /**
+     * Constructs a new {@code SearchService} and subscribes it to the changes of the other instances.
+     *
+     * @param searchIndex        the index to search and update
+     * @param documentRepository the repository used to rebuild the index from the database
+     * @param invalidationBus    the bus sharing changes with the other instances
+     */
+    public SearchService(SearchIndex searchIndex, SearchDocumentRepository documentRepository,
+                         InvalidationBus invalidationBus) {
+        this.searchIndex = searchIndex;
+        this.documentRepository = documentRepository;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::apply);
+    }
+
+    /**
+     * Finds the records best matching a query.
+     * Typo-tolerant matching is only tried when exact and prefix matches give fewer than {@code limit} results,
+     * because a misspelled word of a large index can expand to very common words.
+     *
+     * @param text  the words to search for
+     * @param type  the type of records to search, or null for all types
+     * @param limit the maximum number of results
+     * @return the results, best match first; empty if the query has no words
+     */
+    public List<SearchHit> search(String text, SearchDocumentType type, int limit) {
+        List<String> terms = text == null ? List.of() : searchIndex.terms(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        terms = terms.subList(0, Math.min(terms.size(), MAX_QUERY_TERMS));
+        List<SearchHit> hits = searchIndex.search(buildQuery(terms, type, false), limit);
+        if (hits.size() < limit && terms.stream().anyMatch(SearchService::allowsTypos)) {
+            hits = searchIndex.search(buildQuery(terms, type, true), limit);
+        }
+        return hits;
+    }
+
+    private static Query buildQuery(List<String> terms, SearchDocumentType type, boolean withTypos) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder alternatives = new BooleanQuery.Builder();
+            addAlternatives(alternatives, SearchIndex.TITLE, term, 2f, withTypos);
+            addAlternatives(alternatives, SearchIndex.DETAIL, term, 1f, withTypos);
+            query.add(alternatives.build(), BooleanClause.Occur.MUST);
+        }
+        if (type != null) {
+            query.add(new TermQuery(new Term(SearchIndex.TYPE, type.name())), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private static void addAlternatives(BooleanQuery.Builder alternatives, String field, String term, float weight,
+                                        boolean withTypos) {
+        Term indexTerm = new Term(field, term);
+        alternatives.add(boost(new TermQuery(indexTerm), 4 * weight), BooleanClause.Occur.SHOULD);
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            alternatives.add(boost(new PrefixQuery(indexTerm), 2 * weight), BooleanClause.Occur.SHOULD);
+        }
+        if (withTypos && allowsTypos(term)) {
+            int maxEdits = term.length() >= MIN_TWO_TYPO_LENGTH ? 2 : 1;
+            alternatives.add(boost(new FuzzyQuery(indexTerm, maxEdits, 1), weight), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    /**
+     * Checks if a word may match with typos: words of letters only that are long enough,
+     * so numbers and the parts of an email never match a different number or domain.
+     *
+     * @param term the analyzed word
+     * @return true if typo-tolerant matching is used for the word
+     */
+    private static boolean allowsTypos(String term) {
+        return term.length() >= MIN_FUZZY_LENGTH && term.chars().allMatch(Character::isLetter);
+    }
+
+    private static Query boost(Query query, float boost) {
+        return new BoostQuery(query, boost);
+    }
+
+    /**
+     * Indexes records inserted without Hibernate, once the current transaction commits,
+     * or immediately if there is no transaction, and tells the other instances to index them too.
+     *
+     * @param documents the documents of the inserted records
+     */
+    public void indexAfterCommit(Collection<SearchDocument> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        List<SearchDocument> copy = List.copyOf(documents);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(copy);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(copy);
+            }
+        });
+    }
+
+    private void index(List<SearchDocument> documents) {
+        searchIndex.update(documents);
+        Map<SearchDocumentType, List<Long>> ids = documents.stream().collect(Collectors.groupingBy(
+                SearchDocument::type, Collectors.mapping(SearchDocument::id, Collectors.toList())));
+        ids.forEach((type, typeIds) -> invalidationBus.publish(InvalidationEvent.of(kind(type), typeIds)));
+    }
+
+    /**
+     * Re-reads records from the database and updates their documents, removing those of deleted records.
+     *
+     * @param type the type of the records
+     * @param ids  the IDs of the records
+     */
+    public void refresh(SearchDocumentType type, Collection<Long> ids) {
+        List<SearchDocument> documents = documentRepository.findAll(type, ids);
+        Set<Long> deleted = new HashSet<>(ids);
+        documents.forEach(document -> deleted.remove(document.id()));
+        searchIndex.update(documents);
+        deleted.forEach(id -> searchIndex.delete(type, id));
+    }
+
+    private void apply(InvalidationEvent event) {
+        switch (event.kind()) {
+            case STUDENT -> refresh(SearchDocumentType.STUDENT, event.ids());
+            case TEACHER -> refresh(SearchDocumentType.TEACHER, event.ids());
+            case COURSE -> refresh(SearchDocumentType.COURSE, event.ids());
+            case TASK -> refresh(SearchDocumentType.TASK, event.ids());
+            case ALL -> startRebuild(this::rebuild);
+            default -> {
+            }
+        }
+    }
+
+    private static InvalidationEvent.Kind kind(SearchDocumentType type) {
+        return switch (type) {
+            case STUDENT -> InvalidationEvent.Kind.STUDENT;
+            case TEACHER -> InvalidationEvent.Kind.TEACHER;
+            case COURSE -> InvalidationEvent.Kind.COURSE;
+            case TASK -> InvalidationEvent.Kind.TASK;
+        };
+    }
+
+    /**
+     * Rebuilds the index of every type whose documents differ from the records: a record is missing,
+     * a document of a deleted record is left, or the text of a record changed.
+     * The records and the documents of each type are compared by the sum of their fingerprints.
+     *
+     * @return the number of types that were rebuilt
+     */
+    public synchronized int rebuildIfStale() {
+        Map<SearchDocumentType, Long> indexed = searchIndex.fingerprints();
+        int rebuilt = 0;
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            long[] records = {0};
+            documentRepository.forEach(type, document -> records[0] += document.fingerprint());
+            if (records[0] != indexed.getOrDefault(type, 0L)) {
+                log.info("Пошуковий індекс записів {} не відповідає базі даних, перебудовуємо", type);
+                rebuild(type);
+                rebuilt++;
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Rebuilds the whole index from the database, for example after rows were inserted with JDBC.
+     */
+    public synchronized void rebuild() {
+        for (SearchDocumentType type : SearchDocumentType.values()) {
+            rebuild(type);
+        }
+    }
+
+    private void rebuild(SearchDocumentType type) {
+        long started = System.nanoTime();
+        long generation = searchIndex.nextGeneration();
+        List<SearchDocument> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        int[] indexed = {0};
+        documentRepository.forEach(type, document -> {
+            batch.add(document);
+            if (batch.size() == REBUILD_BATCH_SIZE) {
+                searchIndex.update(batch);
+                indexed[0] += batch.size();
+                batch.clear();
+            }
+        });
+        searchIndex.update(batch);
+        indexed[0] += batch.size();
+        searchIndex.deleteOlderGenerations(type, generation);
+        searchIndex.commit();
+        log.info("Проіндексовано {} записів {} за {} мс", indexed[0], type, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Checks the index against the database in a background thread, so a rebuild does not delay startup.
+     * Searches made during a rebuild find the previous documents of records not yet re-indexed;
+     * rebuilds requested by other threads wait for this one to finish.
+     */
+    @Override
+    public void start() {
+        running = true;
+        startRebuild(this::rebuildIfStale);
+    }
+
+    private void startRebuild(Runnable task) {
+        rebuilder = new Thread(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Не вдалося перевірити пошуковий індекс", e);
+            }
+        }, "search-indexer");
+        rebuilder.setDaemon(true);
+        rebuilder.start();
+    }
+
+    /**
+     * Waits for a running rebuild to finish.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            rebuilder.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,222 @@
+package project.education.seed;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import project.education.cluster.InvalidationBus;
+import project.education.cluster.InvalidationEvent;
+import project.education.config.SequenceInitializer;
+import project.education.repository.PageVersionRepository;
+import project.education.repository.ProgressRepository;
+import project.education.search.SearchService;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates a reproducible synthetic data set for local load testing and benchmarks.
+ * <p>
+ * Rows are written with JDBC batches and explicit IDs starting at 1, so data sets of millions of rows
+ * can be generated without going through the persistence context. The data is skewed like production:
+ * course popularity follows a Zipf distribution, which yields a few huge courses and a long tail of tiny ones,
+ * and so does student activity, so a small share of students submits most of the answers.
+ */
+@Component
+public class DataGenerator {
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String[] FIRST_NAMES = {
+            "Олександр", "Марія", "Андрій", "Олена", "Дмитро", "Анна", "Максим", "Софія", "Іван", "Катерина",
+            "Богдан", "Юлія", "Тарас", "Ірина", "Назар", "Оксана", "Владислав", "Дарина", "Артем", "Вікторія"};
+    private static final String[] LAST_NAMES = {
+            "Шевченко", "Коваленко", "Бондаренко", "Ткаченко", "Кравченко", "Олійник", "Шевчук", "Поліщук",
+            "Бойко", "Мельник", "Іваненко", "Лисенко", "Руденко", "Савченко", "Мороз", "Петренко"};
+    private static final String[] SUBJECTS = {
+            "Математика", "Фізика", "Історія України", "Програмування", "Бази даних", "Англійська мова",
+            "Хімія", "Біологія", "Економіка", "Філософія", "Алгоритми", "Статистика"};
+
+    private static final String INSERT_TEACHER = "INSERT INTO teacher (id, name, email) VALUES (?, ?, ?)";
+    private static final String INSERT_COURSE = "INSERT INTO course (id, title, teacher_id) VALUES (?, ?, ?)";
+    private static final String INSERT_STUDENT = "INSERT INTO student (id, name, email) VALUES (?, ?, ?)";
+    private static final String INSERT_TASK =
+            "INSERT INTO task (id, title, description, active, course_id) VALUES (?, ?, ?, TRUE, ?)";
+    private static final String INSERT_ENROLLMENT = "INSERT INTO course_student (student_id, course_id) VALUES (?, ?)";
+    private static final String INSERT_SUBMISSION = """
+            INSERT INTO task_submission (task_id, student_id, answer, completed, submitted_at)
+            VALUES (?, ?, ?, TRUE, ?)
+            """;
+    private static final List<String> SEEDED_TABLES =
+            List.of("teacher", "course", "student", "task", "course_student", "task_submission");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProgressRepository progressRepository;
+    private final PageVersionRepository pageVersionRepository;
+    private final SequenceInitializer sequenceInitializer;
+    private final SearchService searchService;
+    private final InvalidationBus invalidationBus;
+
+    /**
+     * Constructs a new {@code DataGenerator}.
+     *
+     * @param jdbcTemplate          the template used to insert the rows
+     * @param entityManagerFactory  the factory whose second-level cache is cleared after generation
+     * @param progressRepository    the repository whose counters are built from the generated rows
+     * @param pageVersionRepository the repository whose catalog version is incremented after generation
+     * @param sequenceInitializer   the initializer moving the ID sequences past the generated rows
+     * @param searchService         the search service whose index is rebuilt from the generated rows
+     * @param invalidationBus       the bus telling the other instances to clear their caches after generation
+     */
+    public DataGenerator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                         ProgressRepository progressRepository, PageVersionRepository pageVersionRepository,
+                         SequenceInitializer sequenceInitializer, SearchService searchService,
+                         InvalidationBus invalidationBus) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.progressRepository = progressRepository;
+        this.pageVersionRepository = pageVersionRepository;
+        this.sequenceInitializer = sequenceInitializer;
+        this.searchService = searchService;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * Generates the data set described by the plan into an empty database.
+     * Nothing is written unless every table the generator fills is empty, because the generated rows use
+     * explicit IDs starting at 1 and would collide with any row already stored.
+     *
+     * @param plan the sizes and distribution parameters of the data set
+     * @return true if the data was generated, false if the database was not empty
+     */
+    public boolean generate(SeedPlan plan) {
+        for (String table : SEEDED_TABLES) {
+            Boolean filled = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class);
+            if (Boolean.TRUE.equals(filled)) {
+                log.info("Table {} already contains rows, skipping data generation", table);
+                return false;
+            }
+        }
+        long started = System.nanoTime();
+        Random random = new Random(plan.randomSeed());
+
+        BatchInserter teachers = new BatchInserter(INSERT_TEACHER);
+        for (long id = 1; id <= plan.teachers(); id++) {
+            String name = randomName(random);
+            teachers.add(id, name, "teacher" + id + "@example.com");
+        }
+        teachers.flush();
+
+        BatchInserter courses = new BatchInserter(INSERT_COURSE);
+        for (long id = 1; id <= plan.courses(); id++) {
+            courses.add(id, SUBJECTS[(int) (id % SUBJECTS.length)] + " " + id, random.nextInt(plan.teachers()) + 1L);
+        }
+        courses.flush();
+
+        BatchInserter tasks = new BatchInserter(INSERT_TASK);
+        for (long courseId = 1; courseId <= plan.courses(); courseId++) {
+            for (int n = 1; n <= plan.tasksPerCourse(); n++) {
+                long taskId = (courseId - 1) * plan.tasksPerCourse() + n;
+                tasks.add(taskId, "Завдання " + n, "Опис завдання " + n + " курсу " + courseId, courseId);
+            }
+        }
+        tasks.flush();
+
+        BatchInserter students = new BatchInserter(INSERT_STUDENT);
+        for (long id = 1; id <= plan.students(); id++) {
+            students.add(id, randomName(random), "student" + id + "@example.com");
+        }
+        students.flush();
+
+        ZipfSampler coursePopularity = new ZipfSampler(plan.courses(), plan.zipfExponent());
+        double meanActivity = meanWeight(plan.students(), plan.zipfExponent());
+        int coursesPerStudent = Math.min(plan.coursesPerStudent(), plan.courses());
+        Instant now = Instant.now();
+
+        BatchInserter enrollments = new BatchInserter(INSERT_ENROLLMENT);
+        BatchInserter submissions = new BatchInserter(INSERT_SUBMISSION);
+        for (long studentId = 1; studentId <= plan.students(); studentId++) {
+            Set<Integer> courseRanks = new LinkedHashSet<>();
+            while (courseRanks.size() < coursesPerStudent) {
+                courseRanks.add(coursePopularity.sample(random));
+            }
+            int activityRank = random.nextInt(plan.students()) + 1;
+            double submitChance = Math.min(1.0,
+                    plan.submissionRate() * ZipfSampler.weight(activityRank, plan.zipfExponent()) / meanActivity);
+            for (int courseId : courseRanks) {
+                enrollments.add(studentId, (long) courseId);
+                for (int n = 1; n <= plan.tasksPerCourse(); n++) {
+                    if (random.nextDouble() < submitChance) {
+                        long taskId = (long) (courseId - 1) * plan.tasksPerCourse() + n;
+                        Instant submittedAt = now.minus(Duration.ofMinutes(random.nextInt(60 * 24 * 30)));
+                        submissions.add(taskId, studentId, "Відповідь студента " + studentId + " на завдання " + taskId,
+                                Timestamp.from(submittedAt));
+                    }
+                }
+            }
+        }
+        enrollments.flush();
+        submissions.flush();
+
+        sequenceInitializer.alignAll();
+        progressRepository.reconcile();
+        pageVersionRepository.incrementCatalogVersion();
+        entityManagerFactory.getCache().evictAll();
+        searchService.rebuild();
+        invalidationBus.publish(InvalidationEvent.all());
+        log.info("Generated {} teachers, {} courses, {} students, {} tasks, {} enrollments and {} submissions in {} s",
+                teachers.count, courses.count, students.count, tasks.count, enrollments.count, submissions.count,
+                Duration.ofNanos(System.nanoTime() - started).toSeconds());
+        return true;
+    }
+
+    private static String randomName(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static double meanWeight(int n, double exponent) {
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += ZipfSampler.weight(rank, exponent);
+        }
+        return sum / n;
+    }
+
+    /**
+     * Collects rows for one insert statement and writes them in batches.
+     */
+    private class BatchInserter {
+        private final String sql;
+        private List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        private long count;
+
+        BatchInserter(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            count++;
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package project.education.seed;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the {@link DataGenerator} on startup when {@code education.seed.enabled=true}, for example:
+ * <pre>
+ * gradle bootRun --args='--education.seed.enabled=true --education.seed.students=1000000'
+ * </pre>
+ * Teacher and course counts default to the proportions of {@link SeedPlan#forStudents(int)} when not set.
+ * Generation runs after the web server has started, so load tests should wait for the "Generated ..." log line.
+ */
+@Component
+@ConditionalOnProperty(name = "education.seed.enabled", havingValue = "true")
+public class DataGeneratorRunner implements ApplicationRunner {
+    private final DataGenerator dataGenerator;
+    private final SeedPlan plan;
+
+    /**
+     * Constructs a new {@code DataGeneratorRunner}.
+     *
+     * @param dataGenerator     the generator to run
+     * @param students          the number of students
+     * @param teachers          the number of teachers, or 0 for the default proportion
+     * @param courses           the number of courses, or 0 for the default proportion
+     * @param coursesPerStudent the number of courses each student is enrolled in
+     * @param tasksPerCourse    the number of tasks in each course
+     * @param submissionRate    the average share of their tasks that students submit
+     * @param zipfExponent      the skew of course popularity and student activity
+     * @param randomSeed        the seed that makes the generated data reproducible
+     */
+    public DataGeneratorRunner(DataGenerator dataGenerator,
+                               @Value("${education.seed.students:10000}") int students,
+                               @Value("${education.seed.teachers:0}") int teachers,
+                               @Value("${education.seed.courses:0}") int courses,
+                               @Value("${education.seed.courses-per-student:5}") int coursesPerStudent,
+                               @Value("${education.seed.tasks-per-course:5}") int tasksPerCourse,
+                               @Value("${education.seed.submission-rate:0.5}") double submissionRate,
+                               @Value("${education.seed.zipf-exponent:1.0}") double zipfExponent,
+                               @Value("${education.seed.random-seed:42}") long randomSeed) {
+        SeedPlan defaults = SeedPlan.forStudents(students);
+        this.dataGenerator = dataGenerator;
+        this.plan = new SeedPlan(students,
+                teachers > 0 ? teachers : defaults.teachers(),
+                courses > 0 ? courses : defaults.courses(),
+                coursesPerStudent, tasksPerCourse, submissionRate, zipfExponent, randomSeed);
+    }
+
+    /**
+     * Generates the configured data set.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        dataGenerator.generate(plan);
+    }
+}
@@ -0,0 +1,37 @@
+package project.education.seed;
+
+/**
+ * Sizes and distribution parameters of a generated data set.
+ *
+ * @param students           the number of students
+ * @param teachers           the number of teachers
+ * @param courses            the number of courses
+ * @param coursesPerStudent  the number of courses each student is enrolled in
+ * @param tasksPerCourse     the number of tasks in each course
+ * @param submissionRate     the average share of their tasks that students submit, between 0 and 1
+ * @param zipfExponent       the skew of course popularity and student activity; 0 means uniform
+ * @param randomSeed         the seed that makes the generated data reproducible
+ */
+public record SeedPlan(int students, int teachers, int courses, int coursesPerStudent, int tasksPerCourse,
+                       double submissionRate, double zipfExponent, long randomSeed) {
+
+    /**
+     * Creates a plan with the default proportions for the given number of students:
+     * one teacher per 100 students, one course per 20 students, five courses per student and five tasks per course.
+     *
+     * @param students the number of students
+     * @return the seed plan
+     */
+    public static SeedPlan forStudents(int students) {
+        return new SeedPlan(students, Math.max(1, students / 100), Math.max(10, students / 20), 5, 5, 0.5, 1.0, 42);
+    }
+
+    /**
+     * Gets the total number of tasks.
+     *
+     * @return the number of tasks
+     */
+    public long tasks() {
+        return (long) courses * tasksPerCourse;
+    }
+}
@@ -0,0 +1,52 @@
+package project.education.seed;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples ranks {@code 1..n} with probability proportional to {@code 1 / rank^exponent}.
+ * The cumulative distribution is precomputed, so each sample is a binary search.
+ */
+class ZipfSampler {
+    private final double[] cumulative;
+
+    /**
+     * Constructs a new {@code ZipfSampler}.
+     *
+     * @param n        the number of ranks
+     * @param exponent the skew of the distribution; 0 gives a uniform distribution
+     */
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += weight(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * Draws a rank.
+     *
+     * @param random the source of randomness
+     * @return a rank between 1 and n
+     */
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+
+    /**
+     * Computes the unnormalized weight of a rank.
+     *
+     * @param rank     the rank, starting at 1
+     * @param exponent the skew of the distribution
+     * @return the weight of the rank
+     */
+    static double weight(int rank, double exponent) {
+        return 1.0 / Math.pow(rank, exponent);
+    }
+}
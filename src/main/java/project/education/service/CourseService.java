@@ -1,10 +1,21 @@
 package project.education.service;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.education.dto.CourseSummary;
+import project.education.fragment.FragmentCache;
 import project.education.model.Course;
 import project.education.repository.CourseRepository;
+import project.education.repository.PageVersionRepository;
+import project.education.repository.ProgressRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service for managing {@link Course} entities.
@@ -13,14 +24,28 @@ import java.util.List;
 @Service
 public class CourseService {
     private final CourseRepository courseRepository;
+    private final ProgressRepository progressRepository;
+    private final PageVersionRepository pageVersionRepository;
+    private final FragmentCache fragmentCache;
+    private final Cache secondLevelCache;
 
     /**
-     * Constructs a new {@code CourseService} with the specified repository.
+     * Constructs a new {@code CourseService} with the specified repositories.
      *
-     * @param courseRepository the repository for interacting with course data
+     * @param courseRepository      the repository for interacting with course data
+     * @param progressRepository    the repository maintaining the course enrollment counters
+     * @param pageVersionRepository the repository maintaining the catalog version of the student pages
+     * @param fragmentCache         the cache of rendered course lists to invalidate
+     * @param entityManagerFactory  the factory whose second-level cache is checked for cached courses
      */
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(CourseRepository courseRepository, ProgressRepository progressRepository,
+                         PageVersionRepository pageVersionRepository, FragmentCache fragmentCache,
+                         EntityManagerFactory entityManagerFactory) {
         this.courseRepository = courseRepository;
+        this.progressRepository = progressRepository;
+        this.pageVersionRepository = pageVersionRepository;
+        this.fragmentCache = fragmentCache;
+        this.secondLevelCache = entityManagerFactory.getCache();
     }
 
     /**
@@ -28,10 +53,24 @@ public class CourseService {
      *
      * @return a list of all courses
      */
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    /**
+     * Retrieves a slice of courses ordered by ID, starting after the given ID.
+     * The cost does not depend on how deep the slice is in the table.
+     *
+     * @param afterId the ID of the last course of the previous slice, or null for the first slice
+     * @param size    the maximum number of courses in the slice
+     * @return a slice of courses
+     */
+    @Transactional(readOnly = true)
+    public Slice<Course> getCoursesAfter(Long afterId, int size) {
+        return courseRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, PageRequest.of(0, size));
+    }
+
     /**
      * Retrieves a course by its ID.
      *
@@ -39,27 +78,58 @@ public class CourseService {
      * @return the course with the specified ID
      * @throws RuntimeException if the course is not found
      */
+    @Transactional(readOnly = true)
     public Course getCourseById(Long id) {
         return courseRepository.findById(id).orElseThrow(() -> new RuntimeException("Курс не знайдено"));
     }
 
     /**
-     * Saves a new or updated course to the database.
+     * Retrieves a course by its ID together with its teacher.
+     * Use this when the teacher is rendered, so it is not loaded lazily.
+     * A course in the second-level cache is resolved by ID, with its teacher, from the cache;
+     * otherwise both are loaded by one join query, which also puts them in the cache.
+     *
+     * @param id the ID of the course
+     * @return the course with the specified ID and its teacher
+     * @throws RuntimeException if the course is not found
+     */
+    @Transactional(readOnly = true)
+    public Course getCourseWithTeacher(Long id) {
+        if (!secondLevelCache.contains(Course.class, id)) {
+            return courseRepository.findWithTeacherById(id).orElseThrow(() -> new RuntimeException("Курс не знайдено"));
+        }
+        Course course = getCourseById(id);
+        Hibernate.initialize(course.getTeacher());
+        return course;
+    }
+
+    /**
+     * Saves a new or updated course to the database and makes sure it has an enrollment counter.
      *
      * @param course the course to save
      * @return the saved course
      */
+    @Transactional
     public Course saveCourse(Course course) {
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        progressRepository.createCourseProgress(saved.getId());
+        pageVersionRepository.incrementCatalogVersion();
+        fragmentCache.invalidateCatalog();
+        return saved;
     }
 
     /**
-     * Deletes a course by its ID.
+     * Deletes a course and its enrollment counter by the course ID.
      *
      * @param id the ID of the course to delete
      */
+    @Transactional
     public void deleteCourse(Long id) {
         courseRepository.deleteById(id);
+        progressRepository.deleteCourseProgress(id);
+        pageVersionRepository.incrementCatalogVersion();
+        fragmentCache.invalidateRoster(id);
+        fragmentCache.invalidateCatalog();
     }
 
     /**
@@ -68,7 +138,31 @@ public class CourseService {
      * @param teacherId the ID of the teacher
      * @return a list of courses taught by the specified teacher
      */
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByTeacherId(Long teacherId) {
         return courseRepository.findByTeacherId(teacherId);
     }
+
+    /**
+     * Retrieves a slice of course summaries ordered by ID, starting after the given ID.
+     *
+     * @param afterId the ID of the last course of the previous slice, or null for the first slice
+     * @param size    the maximum number of courses in the slice
+     * @return a slice of course summaries
+     */
+    @Transactional(readOnly = true)
+    public Slice<CourseSummary> getCourseSummaries(Long afterId, int size) {
+        return courseRepository.findSummariesAfter(afterId == null ? 0L : afterId, PageRequest.of(0, size));
+    }
+
+    /**
+     * Retrieves the summary of a course by ID.
+     *
+     * @param id the ID of the course
+     * @return the course summary, or empty if the course does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<CourseSummary> findCourseSummary(Long id) {
+        return courseRepository.findSummaryById(id);
+    }
 }
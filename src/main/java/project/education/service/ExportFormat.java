@@ -0,0 +1,60 @@
+package project.education.service;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * File formats of the answer export.
+ */
+public enum ExportFormat {
+    /**
+     * Comma-separated values with a header row, as described by RFC 4180.
+     */
+    CSV("text/csv; charset=UTF-8", "csv"),
+
+    /**
+     * Newline-delimited JSON: one JSON object per answer and line.
+     */
+    NDJSON("application/x-ndjson; charset=UTF-8", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Finds a format by its file extension, ignoring case.
+     *
+     * @param name the extension, for example {@code csv}
+     * @return the format, or empty if there is no such format
+     */
+    public static Optional<ExportFormat> fromExtension(String name) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equals(name.toLowerCase(Locale.ROOT))) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the media type of the format.
+     *
+     * @return the value of the {@code Content-Type} header
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Gets the file extension of the format.
+     *
+     * @return the extension without a dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
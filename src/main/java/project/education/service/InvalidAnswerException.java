@@ -0,0 +1,20 @@
+package project.education.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import project.education.model.Submission;
+
+/**
+ * Thrown when an answer cannot be stored, so it is rejected before it is accepted for writing.
+ * Clients receive {@code 400 Bad Request}.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidAnswerException extends RuntimeException {
+
+    /**
+     * Constructs a new exception with the default message.
+     */
+    public InvalidAnswerException() {
+        super("Відповідь має містити не більше " + Submission.MAX_ANSWER_LENGTH + " символів");
+    }
+}
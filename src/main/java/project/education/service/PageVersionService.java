@@ -0,0 +1,75 @@
+package project.education.service;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+import project.education.repository.PageVersionRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Service providing entity tags of frequently polled pages, so unchanged pages can be answered
+ * with {@code 304 Not Modified} without loading their data or rendering their templates.
+ */
+@Service
+public class PageVersionService implements SmartInitializingSingleton {
+    private final PageVersionRepository pageVersionRepository;
+
+    /**
+     * Constructs a new {@code PageVersionService} with the specified repository.
+     *
+     * @param pageVersionRepository the repository computing page fingerprints
+     */
+    public PageVersionService(PageVersionRepository pageVersionRepository) {
+        this.pageVersionRepository = pageVersionRepository;
+    }
+
+    /**
+     * Makes sure the catalog version row exists before the first request.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        pageVersionRepository.createCatalogVersion();
+    }
+
+    /**
+     * Gets the entity tag of a teacher account page.
+     *
+     * @param teacherId the ID of the teacher
+     * @return the entity tag, or null if the teacher does not exist
+     */
+    @Transactional(readOnly = true)
+    public String getTeacherPageEtag(Long teacherId) {
+        return etag("teacher", pageVersionRepository.findTeacherPageVersion(teacherId));
+    }
+
+    /**
+     * Gets the entity tag of a teacher course page.
+     *
+     * @param courseId the ID of the course
+     * @return the entity tag, or null if the course does not exist
+     */
+    @Transactional(readOnly = true)
+    public String getCoursePageEtag(Long courseId) {
+        return etag("course", pageVersionRepository.findCoursePageVersion(courseId));
+    }
+
+    /**
+     * Gets the entity tag of a student account page.
+     *
+     * @param studentId the ID of the student
+     * @return the entity tag, or null if the student does not exist
+     */
+    @Transactional(readOnly = true)
+    public String getStudentPageEtag(Long studentId) {
+        return etag("student", pageVersionRepository.findStudentPageVersion(studentId));
+    }
+
+    private static String etag(String page, Optional<String> fingerprint) {
+        return fingerprint
+                .map(value -> "W/\"" + DigestUtils.md5DigestAsHex((page + ":" + value).getBytes(StandardCharsets.UTF_8)) + "\"")
+                .orElse(null);
+    }
+}
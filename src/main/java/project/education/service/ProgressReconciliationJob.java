@@ -0,0 +1,49 @@
+package project.education.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.education.repository.ProgressRepository;
+
+/**
+ * Periodically rebuilds the progress counters from the source tables.
+ * The counters are kept up to date incrementally; this job repairs counters that drifted,
+ * for example after rows were changed outside the application,
+ * and creates counters for tasks and courses that were inserted without one.
+ * Every instance runs it; counters are corrected one at a time under a row lock, so runs may overlap.
+ */
+@Component
+public class ProgressReconciliationJob {
+    private static final Logger log = LoggerFactory.getLogger(ProgressReconciliationJob.class);
+
+    private final ProgressRepository progressRepository;
+
+    /**
+     * Constructs a new {@code ProgressReconciliationJob}.
+     *
+     * @param progressRepository the repository maintaining the counters
+     */
+    public ProgressReconciliationJob(ProgressRepository progressRepository) {
+        this.progressRepository = progressRepository;
+    }
+
+    /**
+     * Rebuilds the counters and logs how many of them had to be corrected.
+     *
+     * @return the number of counters that were created, corrected or removed
+     */
+    @Scheduled(initialDelayString = "${education.progress.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${education.progress.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        long started = System.nanoTime();
+        int corrected = progressRepository.reconcile();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        if (corrected > 0) {
+            log.warn("Corrected {} progress counters in {} ms", corrected, elapsedMs);
+        } else {
+            log.debug("Progress counters are consistent, checked in {} ms", elapsedMs);
+        }
+        return corrected;
+    }
+}
@@ -1,12 +1,21 @@
 package project.education.service;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
-import project.education.model.Course;
+import org.springframework.transaction.annotation.Transactional;
+import project.education.dto.CourseSummary;
+import project.education.dto.StudentSummary;
+import project.education.fragment.FragmentCache;
 import project.education.model.Student;
 import project.education.repository.CourseRepository;
+import project.education.repository.EnrollmentRepository;
 import project.education.repository.StudentRepository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service for managing {@link Student} entities.
@@ -16,16 +25,23 @@ import java.util.List;
 public class StudentService {
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final FragmentCache fragmentCache;
 
     /**
      * Constructs a new {@code StudentService} with the specified repositories.
      *
-     * @param studentRepository the repository for interacting with student data
-     * @param courseRepository  the repository for interacting with course data
+     * @param studentRepository    the repository for interacting with student data
+     * @param courseRepository     the repository for interacting with course data
+     * @param enrollmentRepository the repository for interacting with course enrollments
+     * @param fragmentCache        the cache of rendered rosters and course lists to invalidate
      */
-    public StudentService(StudentRepository studentRepository, CourseRepository courseRepository) {
+    public StudentService(StudentRepository studentRepository, CourseRepository courseRepository,
+                          EnrollmentRepository enrollmentRepository, FragmentCache fragmentCache) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.fragmentCache = fragmentCache;
     }
 
     /**
@@ -33,10 +49,24 @@ public class StudentService {
      *
      * @return a list of all students
      */
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
 
+    /**
+     * Retrieves a slice of students ordered by ID, starting after the given ID.
+     * The cost does not depend on how deep the slice is in the table.
+     *
+     * @param afterId the ID of the last student of the previous slice, or null for the first slice
+     * @param size    the maximum number of students in the slice
+     * @return a slice of students
+     */
+    @Transactional(readOnly = true)
+    public Slice<Student> getStudentsAfter(Long afterId, int size) {
+        return studentRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, PageRequest.of(0, size));
+    }
+
     /**
      * Retrieves a student by their ID.
      *
@@ -44,6 +74,7 @@ public class StudentService {
      * @return the student with the specified ID
      * @throws RuntimeException if the student is not found
      */
+    @Transactional(readOnly = true)
     public Student getStudentById(Long id) {
         return studentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Студента з ID " + id + " не знайдено"));
@@ -51,72 +82,186 @@ public class StudentService {
 
     /**
      * Saves a new or updated student to the database.
+     * An updated student is shown with its new name on the rosters of its courses.
      *
      * @param student the student to save
      * @return the saved student
+     * @throws RuntimeException if another student already has the same email
      */
+    @Transactional
     public Student saveStudent(Student student) {
-        return studentRepository.save(student);
+        if (student.getId() != null) {
+            invalidateRosters(student.getId());
+        }
+        try {
+            return studentRepository.saveAndFlush(student);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Студент з email " + student.getEmail() + " вже існує", e);
+        }
     }
 
     /**
      * Enrolls a student in a specific course.
+     * The enrollment is inserted directly into the join table; enrolling twice has no effect.
      *
      * @param studentId the ID of the student
      * @param courseId  the ID of the course
      * @throws RuntimeException if the student or course is not found
      */
     public void enrollToCourse(Long studentId, Long courseId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Студента не знайдено"));
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Курс не знайдено"));
-        if (!student.getCourses().contains(course)) {
-            student.getCourses().add(course);
-            studentRepository.save(student);
+        if (!enrollmentRepository.enroll(studentId, courseId)) {
+            requireStudentAndCourse(studentId, courseId);
+            return;
+        }
+        fragmentCache.invalidateRoster(courseId);
+        fragmentCache.invalidateEnrollments(studentId);
+    }
+
+    /**
+     * Enrolls many students in one course, for example during a registrar import.
+     * Students that do not exist or are already enrolled are skipped.
+     *
+     * @param courseId   the ID of the course
+     * @param studentIds the IDs of the students to enroll
+     * @return the number of new enrollments
+     * @throws RuntimeException if the course is not found
+     */
+    public int enrollMany(Long courseId, Collection<Long> studentIds) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Курс не знайдено");
         }
+        int created = enrollmentRepository.enrollMany(courseId, studentIds);
+        fragmentCache.invalidateRoster(courseId);
+        fragmentCache.invalidateEnrollments(studentIds);
+        return created;
+    }
+
+    /**
+     * Retrieves the students enrolled in a specific course.
+     *
+     * @param courseId the ID of the course
+     * @return a list of enrolled students
+     */
+    @Transactional(readOnly = true)
+    public List<Student> getStudentsInCourse(Long courseId) {
+        return studentRepository.findByCourseId(courseId);
+    }
+
+    /**
+     * Retrieves a slice of courses available for a student to enroll in.
+     * The filtering is done by the database, so the cost does not depend on the size of the catalog.
+     *
+     * @param studentId the ID of the student
+     * @param afterId   the ID of the last course of the previous slice, or null for the first slice
+     * @param title     a fragment of the course title to filter by, or null/blank for all courses;
+     *                  {@code %} and {@code _} match themselves, not any characters
+     * @param size      the maximum number of courses in the slice
+     * @return a slice of courses the student is not yet enrolled in
+     */
+    @Transactional(readOnly = true)
+    public Slice<CourseSummary> getAvailableCoursesForStudent(Long studentId, Long afterId, String title, int size) {
+        String filter = title == null || title.isBlank() ? null : escapeLike(title.trim());
+        return courseRepository.findAvailableForStudent(studentId, afterId == null ? 0L : afterId, filter, PageRequest.of(0, size));
+    }
+
+    private static String escapeLike(String fragment) {
+        return fragment.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     /**
-     * Retrieves the list of courses available for a student to enroll in.
+     * Retrieves the courses a student is enrolled in.
      *
      * @param studentId the ID of the student
-     * @return a list of courses the student is not yet enrolled in
+     * @return a list of course summaries
      */
-    public List<Course> getAvailableCoursesForStudent(Long studentId) {
-        Student student = getStudentById(studentId);
-        List<Course> allCourses = courseRepository.findAll();
-        allCourses.removeAll(student.getCourses());
-        return allCourses;
+    @Transactional(readOnly = true)
+    public List<CourseSummary> getEnrolledCourses(Long studentId) {
+        return courseRepository.findEnrolledForStudent(studentId);
     }
 
     /**
      * Removes a student from a specific course.
+     * The enrollment is deleted directly from the join table; leaving twice has no effect.
      *
      * @param studentId the ID of the student
      * @param courseId  the ID of the course
      * @throws RuntimeException if the student or course is not found
      */
     public void leaveCourse(Long studentId, Long courseId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("Студента не знайдено"));
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Курс не знайдено"));
-        student.getCourses().remove(course);
-        studentRepository.save(student);
+        if (!enrollmentRepository.leave(studentId, courseId)) {
+            requireStudentAndCourse(studentId, courseId);
+            return;
+        }
+        fragmentCache.invalidateRoster(courseId);
+        fragmentCache.invalidateEnrollments(studentId);
     }
 
     /**
-     * Deletes a student by their ID.
+     * Deletes a student by their ID, removing them from their courses first.
      *
      * @param id the ID of the student to delete
      * @throws RuntimeException if the student is not found
      */
+    @Transactional
     public void deleteStudent(Long id) {
         if (studentRepository.existsById(id)) {
+            invalidateRosters(id);
+            fragmentCache.invalidateEnrollments(id);
+            enrollmentRepository.leaveAll(id);
             studentRepository.deleteById(id);
         } else {
             throw new RuntimeException("Студента з ID " + id + " не знайдено");
         }
     }
+
+    private void invalidateRosters(Long studentId) {
+        for (CourseSummary course : courseRepository.findEnrolledForStudent(studentId)) {
+            fragmentCache.invalidateRoster(course.id());
+        }
+    }
+
+    private void requireStudentAndCourse(Long studentId, Long courseId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Студента не знайдено");
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Курс не знайдено");
+        }
+    }
+
+    /**
+     * Retrieves a slice of student summaries ordered by ID, starting after the given ID.
+     *
+     * @param afterId the ID of the last student of the previous slice, or null for the first slice
+     * @param size    the maximum number of students in the slice
+     * @return a slice of student summaries
+     */
+    @Transactional(readOnly = true)
+    public Slice<StudentSummary> getStudentSummaries(Long afterId, int size) {
+        return studentRepository.findSummariesAfter(afterId == null ? 0L : afterId, PageRequest.of(0, size));
+    }
+
+    /**
+     * Retrieves the summary of a student by ID.
+     *
+     * @param id the ID of the student
+     * @return the student summary, or empty if the student does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<StudentSummary> findStudentSummary(Long id) {
+        return studentRepository.findSummaryById(id);
+    }
+
+    /**
+     * Retrieves a slice of summaries of the students enrolled in a course, ordered by ID.
+     *
+     * @param courseId the ID of the course
+     * @param afterId  the ID of the last student of the previous slice, or null for the first slice
+     * @param size     the maximum number of students in the slice
+     * @return a slice of student summaries
+     */
+    @Transactional(readOnly = true)
+    public Slice<StudentSummary> getStudentSummariesInCourse(Long courseId, Long afterId, int size) {
+        return studentRepository.findSummariesByCourseId(courseId, afterId == null ? 0L : afterId, PageRequest.of(0, size));
+    }
 }
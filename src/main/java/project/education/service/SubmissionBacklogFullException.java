@@ -0,0 +1,19 @@
+package project.education.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the submission queue is full and a new submission cannot be accepted.
+ * Clients receive {@code 503 Service Unavailable} and should retry later.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SubmissionBacklogFullException extends RuntimeException {
+
+    /**
+     * Constructs a new exception with the default message.
+     */
+    public SubmissionBacklogFullException() {
+        super("Забагато відповідей у черзі, спробуйте пізніше");
+    }
+}
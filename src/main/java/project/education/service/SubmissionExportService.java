@@ -0,0 +1,135 @@
+package project.education.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.education.dto.SubmissionExportRow;
+import project.education.repository.SubmissionExportRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Service exporting task answers as CSV or NDJSON.
+ * Answers are read in chunks, each in its own short read-only transaction, and every chunk is written to the
+ * output stream after its transaction has ended. An export of any size needs only a fixed amount of memory,
+ * and a slow client does not keep a pooled connection busy while it downloads.
+ * As the chunks are separate transactions, an export taken while students submit is not a single snapshot:
+ * an answer changed during the export appears once, in the state it had when its chunk was read.
+ */
+@Service
+public class SubmissionExportService {
+    private static final String CSV_HEADER = "task_id,task_title,student_id,student_name,answer,completed,submitted_at";
+    private static final int CHUNK_SIZE = 500;
+
+    private final SubmissionExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Constructs a new {@code SubmissionExportService}.
+     *
+     * @param exportRepository   the repository reading the answers in chunks
+     * @param objectMapper       the mapper used to write NDJSON lines
+     * @param transactionManager the transaction manager used to read each chunk
+     */
+    public SubmissionExportService(SubmissionExportRepository exportRepository, ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes all answers to a task to the output stream.
+     *
+     * @param taskId the ID of the task
+     * @param format the format of the export
+     * @param out    the stream receiving the export; it is flushed but not closed
+     * @throws UncheckedIOException if the export cannot be written
+     */
+    public void exportTask(Long taskId, ExportFormat format, OutputStream out) {
+        export(format, out, List.of(taskId));
+    }
+
+    /**
+     * Writes all answers to the tasks of a course to the output stream.
+     *
+     * @param courseId the ID of the course
+     * @param format   the format of the export
+     * @param out      the stream receiving the export; it is flushed but not closed
+     * @throws UncheckedIOException if the export cannot be written
+     */
+    public void exportCourse(Long courseId, ExportFormat format, OutputStream out) {
+        List<Long> taskIds = readOnlyTransaction.execute(status -> exportRepository.findTaskIdsByCourseId(courseId));
+        export(format, out, taskIds);
+    }
+
+    private void export(ExportFormat format, OutputStream out, List<Long> taskIds) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write("\r\n");
+            }
+            for (Long taskId : taskIds) {
+                long afterStudentId = 0;
+                List<SubmissionExportRow> chunk;
+                do {
+                    long after = afterStudentId;
+                    chunk = readOnlyTransaction.execute(
+                            status -> exportRepository.findByTaskId(taskId, after, CHUNK_SIZE));
+                    for (SubmissionExportRow row : chunk) {
+                        writeRow(format, row, writer);
+                    }
+                    if (!chunk.isEmpty()) {
+                        afterStudentId = chunk.get(chunk.size() - 1).studentId();
+                    }
+                } while (chunk.size() == CHUNK_SIZE);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не вдалося записати експорт відповідей", e);
+        }
+    }
+
+    private void writeRow(ExportFormat format, SubmissionExportRow row, Writer writer) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+            return;
+        }
+        writer.write(String.valueOf(row.taskId()));
+        writer.write(',');
+        writer.write(csvField(row.taskTitle()));
+        writer.write(',');
+        writer.write(String.valueOf(row.studentId()));
+        writer.write(',');
+        writer.write(csvField(row.studentName()));
+        writer.write(',');
+        writer.write(csvField(row.answer()));
+        writer.write(',');
+        writer.write(String.valueOf(row.completed()));
+        writer.write(',');
+        writer.write(row.submittedAt() == null ? "" : row.submittedAt().toString());
+        writer.write("\r\n");
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
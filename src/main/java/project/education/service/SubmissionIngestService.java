@@ -0,0 +1,355 @@
+package project.education.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import project.education.model.PendingSubmission;
+import project.education.model.SubmissionId;
+import project.education.repository.SubmissionBatchWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind ingestion of task submissions.
+ * Accepted submissions are appended to a local {@link SubmissionJournal}, held in a bounded in-memory queue,
+ * and flushed to the database in JDBC batches by a single background thread.
+ * The queue and the journal are in the same order, so after each written batch the journal segments holding
+ * only written entries are deleted, and the journal stays about as large as the queue.
+ * When the queue is full, new submissions are rejected with {@link SubmissionBacklogFullException}.
+ * <p>
+ * A batch that fails for a transient reason, such as a lost connection, is retried with backoff.
+ * A batch the database rejects for the data of some of its rows is split until those rows are found;
+ * they are moved to a dead-letter journal next to the journal, {@code <journal>.dead}, instead of blocking the queue.
+ * Submissions to tasks deleted after they were accepted are moved there as well; a task deactivated after that
+ * still receives them, since the task was active when they were acknowledged.
+ * <p>
+ * Submissions waiting in the queue are seen only by the instance that accepted them, and a journal is only
+ * recovered by an instance started on it again. The pipeline therefore cannot be enabled together with
+ * a cluster bus; clustered instances write submissions directly.
+ */
+@Service
+public class SubmissionIngestService implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SubmissionIngestService.class);
+
+    private final SubmissionBatchWriter batchWriter;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long enqueueTimeoutMs;
+    private final Path journalPath;
+    private final boolean fsync;
+
+    private final BlockingQueue<PendingSubmission> queue = new LinkedBlockingQueue<>();
+    private final Map<SubmissionId, PendingSubmission> pending = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private SubmissionJournal journal;
+    private SubmissionJournal deadLetters;
+    private Thread flusher;
+    private volatile boolean running;
+    private long flushedEntries;
+
+    /**
+     * Constructs a new {@code SubmissionIngestService}.
+     *
+     * @param batchWriter      the writer used to flush submissions to the database
+     * @param enabled          whether submissions go through the write-behind pipeline
+     * @param queueCapacity    the maximum number of accepted submissions not yet written to the database
+     * @param batchSize        the maximum number of submissions written per flush
+     * @param flushIntervalMs  how long the flusher waits for new submissions before polling again
+     * @param enqueueTimeoutMs how long a submission waits for free capacity before it is rejected
+     * @param journalPath      the path of the local submission journal
+     * @param fsync            whether journal appends are forced to storage before they are acknowledged
+     * @param clusterBus       the kind of cache invalidation bus, {@code none} for a single instance
+     * @throws IllegalArgumentException if the pipeline is enabled on a clustered instance
+     */
+    public SubmissionIngestService(SubmissionBatchWriter batchWriter,
+                                   @Value("${education.submissions.ingest.enabled:true}") boolean enabled,
+                                   @Value("${education.submissions.ingest.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${education.submissions.ingest.batch-size:500}") int batchSize,
+                                   @Value("${education.submissions.ingest.flush-interval-ms:200}") long flushIntervalMs,
+                                   @Value("${education.submissions.ingest.enqueue-timeout-ms:100}") long enqueueTimeoutMs,
+                                   @Value("${education.submissions.ingest.journal:./data/submissions.journal}") Path journalPath,
+                                   @Value("${education.submissions.ingest.fsync:true}") boolean fsync,
+                                   @Value("${education.cluster.bus:none}") String clusterBus) {
+        if (enabled && !"none".equals(clusterBus)) {
+            throw new IllegalArgumentException("education.submissions.ingest.enabled must be false with "
+                    + "education.cluster.bus=" + clusterBus
+                    + ": queued submissions are visible only to the instance that accepted them");
+        }
+        this.batchWriter = batchWriter;
+        this.enabled = enabled;
+        this.capacity = new Semaphore(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.journalPath = journalPath;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Checks if submissions go through the write-behind pipeline.
+     *
+     * @return true if the pipeline is enabled, false if submissions are written directly
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accepts a submission for asynchronous writing.
+     * The method returns once the submission is durably journaled.
+     *
+     * @param taskId    the ID of the task
+     * @param studentId the ID of the student
+     * @param answer    the student's answer
+     * @throws SubmissionBacklogFullException if the queue stays full for longer than the enqueue timeout
+     */
+    public void enqueue(Long taskId, Long studentId, String answer) {
+        PendingSubmission submission = new PendingSubmission(taskId, studentId, answer, Instant.now());
+        try {
+            if (!running || !capacity.tryAcquire(enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SubmissionBacklogFullException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SubmissionBacklogFullException();
+        }
+        long position;
+        appendLock.lock();
+        try {
+            position = journal.append(submission);
+            pending.put(submission.id(), submission);
+            queue.add(submission);
+        } catch (IOException e) {
+            capacity.release();
+            throw new UncheckedIOException("Не вдалося зберегти відповідь у журнал", e);
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            journal.sync(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не вдалося зберегти відповідь у журнал", e);
+        }
+    }
+
+    /**
+     * Retrieves the IDs of the given tasks for which a student has a submission that is not yet written.
+     *
+     * @param studentId the ID of the student
+     * @param taskIds   the IDs of the tasks to check
+     * @return the IDs of the tasks with pending submissions
+     */
+    public Set<Long> getPendingTaskIds(Long studentId, Collection<Long> taskIds) {
+        Set<Long> result = new HashSet<>();
+        if (pending.isEmpty()) {
+            return result;
+        }
+        for (Long taskId : taskIds) {
+            if (pending.containsKey(new SubmissionId(taskId, studentId))) {
+                result.add(taskId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of accepted submissions that are not yet written to the database.
+     *
+     * @return the current backlog size
+     */
+    public int getBacklogSize() {
+        return pending.size();
+    }
+
+    /**
+     * Replays the journal left by a previous run and starts the flusher thread.
+     */
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            journal = new SubmissionJournal(journalPath, fsync);
+            deadLetters = new SubmissionJournal(journalPath.resolveSibling(journalPath.getFileName() + ".dead"), fsync);
+            List<PendingSubmission> recovered = journal.readAll();
+            for (int from = 0; from < recovered.size(); from += batchSize) {
+                writeOrDeadLetter(recovered.subList(from, Math.min(from + batchSize, recovered.size())));
+            }
+            journal.truncate();
+            if (!recovered.isEmpty()) {
+                log.info("Recovered {} journaled submissions", recovered.size());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open submission journal " + journalPath, e);
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "submission-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Stops accepting submissions, flushes the backlog and closes the journal.
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            flusher.join();
+            journal.close();
+            deadLetters.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Cannot close submission journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the embedded web server, so no request sees the pipeline stopped.
+     *
+     * @return the lifecycle phase
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 4096;
+    }
+
+    private void flushLoop() {
+        List<PendingSubmission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSubmission first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (!flush(batch)) {
+                    return;
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean flush(List<PendingSubmission> batch) throws InterruptedException {
+        long backoffMs = flushIntervalMs;
+        while (true) {
+            try {
+                writeOrDeadLetter(batch);
+                break;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.warn("Stopping with {} unwritten submissions; they will be replayed from the journal", pending.size());
+                    return false;
+                }
+                log.warn("Cannot write {} submissions, retrying in {} ms", batch.size(), backoffMs, e);
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, 10_000);
+            }
+        }
+        for (PendingSubmission submission : batch) {
+            pending.remove(submission.id(), submission);
+        }
+        capacity.release(batch.size());
+        flushedEntries += batch.size();
+        appendLock.lock();
+        try {
+            if (journal.getEntryCount() == flushedEntries) {
+                journal.truncate();
+            } else {
+                journal.rotate();
+                journal.release(flushedEntries);
+            }
+        } catch (IOException e) {
+            log.warn("Cannot compact submission journal", e);
+        } finally {
+            appendLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Writes a batch, looking for the rows the database rejects by splitting the batch in halves.
+     * Each half is written in its own transaction; rewriting rows of a half that was already written has no effect.
+     *
+     * @param batch the submissions to write
+     * @throws RuntimeException if the batch fails for a reason other than the data of its rows
+     */
+    private void writeOrDeadLetter(List<PendingSubmission> batch) {
+        try {
+            for (PendingSubmission orphaned : batchWriter.write(batch)) {
+                deadLetter(orphaned);
+                log.warn("Task {} was deleted after the submission of student {} was accepted; "
+                        + "the submission is moved to the dead-letter journal", orphaned.taskId(), orphaned.studentId());
+            }
+        } catch (RuntimeException e) {
+            if (!isPermanent(e)) {
+                throw e;
+            }
+            if (batch.size() == 1) {
+                deadLetter(batch.get(0));
+                log.error("Submission of student {} to task {} is rejected by the database and moved to the "
+                        + "dead-letter journal", batch.get(0).studentId(), batch.get(0).taskId(), e);
+                return;
+            }
+            int half = batch.size() / 2;
+            writeOrDeadLetter(batch.subList(0, half));
+            writeOrDeadLetter(batch.subList(half, batch.size()));
+        }
+    }
+
+    /**
+     * Checks if a write failed because of the data being written, so retrying it cannot succeed.
+     * A duplicate key only means another writer inserted the same submission first, so the retry updates it.
+     *
+     * @param e the failure of the write
+     * @return true if the rows of the write are rejected by the database
+     */
+    private static boolean isPermanent(RuntimeException e) {
+        return e instanceof DataIntegrityViolationException && !(e instanceof DuplicateKeyException);
+    }
+
+    private void deadLetter(PendingSubmission submission) {
+        try {
+            deadLetters.sync(deadLetters.append(submission));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write to the dead-letter journal", e);
+        }
+    }
+}
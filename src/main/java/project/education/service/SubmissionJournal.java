@@ -0,0 +1,266 @@
+package project.education.service;
+
+import project.education.model.PendingSubmission;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only local log of accepted submissions that are not yet written to the database.
+ * Each entry is one line; concurrent appends share a single {@code fsync} (group commit).
+ * <p>
+ * Entries are appended to the file at the journal path. {@link #rotate()} seals that file as a numbered segment,
+ * {@code <journal>.<n>}, and starts a new one, so segments whose entries are all written to the database
+ * can be deleted by {@link #release(long)} while new entries keep arriving.
+ * <p>
+ * Forcing the file is guarded by a {@link ReentrantLock} rather than a monitor, so request threads waiting
+ * for an {@code fsync} do not pin the carrier threads of virtual threads.
+ */
+public class SubmissionJournal implements Closeable {
+    private final Path path;
+    private final boolean fsync;
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Deque<Segment> sealed = new ConcurrentLinkedDeque<>();
+    private FileChannel channel;
+    private long nextSegment = 1;
+    private long sealedBytes;
+    private long entries;
+    private volatile long written;
+    private long synced;
+
+    /**
+     * Opens the journal at the given path, creating the file if it does not exist.
+     *
+     * @param path  the path of the journal file
+     * @param fsync whether appends are forced to the storage device before they are acknowledged
+     * @throws IOException if the journal cannot be opened
+     */
+    public SubmissionJournal(Path path, boolean fsync) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.path = path;
+        this.fsync = fsync;
+        this.channel = open(path);
+        try (Stream<Path> files = Files.list(path.toAbsolutePath().getParent())) {
+            files.map(file -> segmentNumber(file.getFileName().toString()))
+                    .filter(number -> number > 0)
+                    .sorted()
+                    .forEach(number -> {
+                        sealed.add(new Segment(segmentPath(number), 0));
+                        nextSegment = number + 1;
+                    });
+        }
+    }
+
+    /**
+     * Reads every complete entry in the sealed segments and the current file, in append order.
+     * A trailing partially written entry is ignored.
+     *
+     * @return the journaled submissions
+     * @throws IOException if the journal cannot be read
+     */
+    public List<PendingSubmission> readAll() throws IOException {
+        List<PendingSubmission> entries = new ArrayList<>();
+        for (Segment segment : sealed) {
+            read(segment.path(), entries);
+        }
+        read(path, entries);
+        return entries;
+    }
+
+    private static void read(Path file, List<PendingSubmission> entries) throws IOException {
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            if (fields.length != 4) {
+                continue;
+            }
+            try {
+                entries.add(new PendingSubmission(
+                        Long.parseLong(fields[0]),
+                        Long.parseLong(fields[1]),
+                        new String(Base64.getDecoder().decode(fields[3]), StandardCharsets.UTF_8),
+                        Instant.ofEpochMilli(Long.parseLong(fields[2]))));
+            } catch (IllegalArgumentException e) {
+                // torn write at the end of the file
+            }
+        }
+    }
+
+    /**
+     * Appends an entry without forcing it to storage.
+     * Callers must serialize appends and call {@link #sync(long)} with the returned position.
+     *
+     * @param submission the submission to append
+     * @return the journal position after the entry, to be passed to {@link #sync(long)}
+     * @throws IOException if the entry cannot be written
+     */
+    public long append(PendingSubmission submission) throws IOException {
+        String line = submission.taskId() + "\t" + submission.studentId() + "\t"
+                + submission.submittedAt().toEpochMilli() + "\t"
+                + Base64.getEncoder().encodeToString(submission.answer().getBytes(StandardCharsets.UTF_8)) + "\n";
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        entries++;
+        written = sealedBytes + channel.position();
+        return written;
+    }
+
+    /**
+     * Gets the number of entries appended since the journal was opened.
+     *
+     * @return the number of appended entries
+     */
+    public long getEntryCount() {
+        return entries;
+    }
+
+    /**
+     * Makes sure every entry up to the given position is on the storage device.
+     * Threads waiting on the same sync are released by a single {@code force}.
+     *
+     * @param position the position returned by {@link #append(PendingSubmission)}
+     * @throws IOException if the journal cannot be forced
+     */
+    public void sync(long position) throws IOException {
+        if (!fsync) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (synced >= position) {
+                return;
+            }
+            long target = written;
+            channel.force(false);
+            synced = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Seals the current file as a segment and starts a new one, if the current file has entries.
+     * Entries appended before the rotation are forced to storage when they are sealed.
+     * Callers must make sure no append is in progress.
+     *
+     * @throws IOException if the segment cannot be sealed
+     */
+    public void rotate() throws IOException {
+        if (channel.size() == 0) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (fsync) {
+                channel.force(false);
+            }
+            sealedBytes += channel.size();
+            channel.close();
+            Path segment = segmentPath(nextSegment++);
+            Files.move(path, segment, StandardCopyOption.ATOMIC_MOVE);
+            sealed.add(new Segment(segment, entries));
+            channel = open(path);
+            if (fsync) {
+                forceDirectory();
+            }
+            synced = sealedBytes;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the sealed segments whose entries are all written to the database.
+     * Entries are written in append order, so they are identified by how many of them were written.
+     *
+     * @param writtenEntries the number of entries appended since the journal was opened that are written to the database
+     * @throws IOException if a segment cannot be deleted
+     */
+    public void release(long writtenEntries) throws IOException {
+        while (!sealed.isEmpty() && sealed.peekFirst().lastEntry() <= writtenEntries) {
+            Files.deleteIfExists(sealed.pollFirst().path());
+        }
+    }
+
+    /**
+     * Discards all entries once they have been written to the database.
+     * Callers must make sure no append is in progress.
+     *
+     * @throws IOException if the journal cannot be truncated
+     */
+    public void truncate() throws IOException {
+        release(Long.MAX_VALUE);
+        if (channel.size() > 0) {
+            channel.truncate(0);
+            channel.position(0);
+        }
+        syncLock.lock();
+        try {
+            sealedBytes = 0;
+            written = 0;
+            synced = 0;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the journal file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Path segmentPath(long number) {
+        return path.resolveSibling(path.getFileName() + "." + number);
+    }
+
+    private long segmentNumber(String fileName) {
+        String prefix = path.getFileName() + ".";
+        if (!fileName.startsWith(prefix)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(fileName.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void forceDirectory() throws IOException {
+        try (FileChannel directory = FileChannel.open(path.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private record Segment(Path path, long lastEntry) {
+    }
+}
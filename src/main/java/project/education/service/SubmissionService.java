@@ -0,0 +1,161 @@
+package project.education.service;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.education.dto.SubmissionSummary;
+import project.education.dto.TaskResponseRow;
+import project.education.model.Submission;
+import project.education.repository.ProgressRepository;
+import project.education.repository.SubmissionRepository;
+import project.education.repository.TaskRepository;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Service for managing {@link Submission} entities.
+ * Provides business logic for submitting answers to tasks and reading submission statuses.
+ */
+@Service
+public class SubmissionService {
+    private static final int MAX_ATTEMPTS = 5;
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final SubmissionRepository submissionRepository;
+    private final TaskRepository taskRepository;
+    private final ProgressRepository progressRepository;
+    private final SubmissionIngestService ingestService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a new {@code SubmissionService} with the specified repositories.
+     *
+     * @param submissionRepository the repository for interacting with submission data
+     * @param taskRepository       the repository for interacting with task data
+     * @param progressRepository   the repository maintaining the task completion counters
+     * @param ingestService        the write-behind pipeline for submissions
+     * @param transactionTemplate  the template running each direct write attempt in its own transaction
+     */
+    public SubmissionService(SubmissionRepository submissionRepository, TaskRepository taskRepository,
+                             ProgressRepository progressRepository, SubmissionIngestService ingestService,
+                             TransactionTemplate transactionTemplate) {
+        this.submissionRepository = submissionRepository;
+        this.taskRepository = taskRepository;
+        this.progressRepository = progressRepository;
+        this.ingestService = ingestService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Submits a student's answer to an active task.
+     * When the write-behind pipeline is enabled, the answer is journaled and written in a later batch;
+     * otherwise it is inserted, or updated if the student already answered, by statements that also check the task is active.
+     * A first submission increments the completion counter of the task in the same transaction.
+     * A direct write that conflicts with a concurrent write of the same submission is retried a bounded number of times.
+     *
+     * @param taskId    the ID of the task
+     * @param studentId the ID of the student
+     * @param answer    the student's answer
+     * @return true if the answer was accepted, false if the task does not exist or is inactive
+     * @throws InvalidAnswerException         if the answer is missing or longer than the answer column
+     * @throws SubmissionBacklogFullException if the write-behind queue is full
+     */
+    public boolean submit(Long taskId, Long studentId, String answer) {
+        if (answer == null || answer.length() > Submission.MAX_ANSWER_LENGTH) {
+            throw new InvalidAnswerException();
+        }
+        if (ingestService.isEnabled()) {
+            if (!taskRepository.findActiveById(taskId).orElse(false)) {
+                return false;
+            }
+            ingestService.enqueue(taskId, studentId, answer);
+            return true;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> writeDirectly(taskId, studentId, answer));
+            } catch (DataAccessException e) {
+                if (attempt == MAX_ATTEMPTS || !isWriteConflict(e)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean writeDirectly(Long taskId, Long studentId, String answer) {
+        if (submissionRepository.insertIfAbsent(taskId, studentId, answer) > 0) {
+            progressRepository.addCompleted(taskId, 1);
+            return true;
+        }
+        return submissionRepository.updateAnswer(taskId, studentId, answer) > 0;
+    }
+
+    /**
+     * Checks if a write failed because a concurrent transaction wrote the same row first,
+     * for example when two first submissions of one student race to insert the same key.
+     *
+     * @param e the failure of the write
+     * @return true if retrying the write can succeed
+     */
+    private static boolean isWriteConflict(DataAccessException e) {
+        if (e instanceof ConcurrencyFailureException || e instanceof DuplicateKeyException) {
+            return true;
+        }
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && UNIQUE_VIOLATION.equals(sqlException.getSQLState());
+    }
+
+    /**
+     * Retrieves a page of responses to a task, joined with student names and sorted by name.
+     *
+     * @param taskId the ID of the task
+     * @param page   the zero-based page number
+     * @param size   the number of responses per page
+     * @return a page of response rows
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskResponseRow> getResponsesForTask(Long taskId, int page, int size) {
+        return submissionRepository.findResponseRows(taskId, PageRequest.of(page, size));
+    }
+
+    /**
+     * Retrieves the IDs of the given tasks that a student has completed,
+     * including submissions that are accepted but not yet written to the database.
+     *
+     * @param studentId the ID of the student
+     * @param taskIds   the IDs of the tasks to check
+     * @return a set of IDs of the completed tasks
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> getCompletedTaskIds(Long studentId, Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> completed = new HashSet<>(submissionRepository.findCompletedTaskIds(studentId, taskIds));
+        completed.addAll(ingestService.getPendingTaskIds(studentId, taskIds));
+        return completed;
+    }
+
+    /**
+     * Retrieves a slice of summaries of the submissions for a task, ordered by student ID.
+     * Submissions still waiting in the write-behind queue are not included.
+     *
+     * @param taskId  the ID of the task
+     * @param afterId the ID of the student of the last submission of the previous slice, or null for the first slice
+     * @param size    the maximum number of submissions in the slice
+     * @return a slice of submission summaries
+     */
+    @Transactional(readOnly = true)
+    public Slice<SubmissionSummary> getSubmissionSummaries(Long taskId, Long afterId, int size) {
+        return submissionRepository.findSummariesByTaskId(taskId, afterId == null ? 0L : afterId, PageRequest.of(0, size));
+    }
+}
@@ -1,13 +1,21 @@
 package project.education.service;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.education.dto.CourseProgressSummary;
+import project.education.dto.TaskProgressRow;
+import project.education.dto.TaskSummary;
 import project.education.model.Task;
-import project.education.model.Student;
+import project.education.repository.ProgressRepository;
+import project.education.repository.SubmissionRepository;
 import project.education.repository.TaskRepository;
-import project.education.repository.StudentRepository;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service for managing {@link Task} entities.
@@ -16,17 +24,21 @@ import java.util.Set;
 @Service
 public class TaskService {
     private final TaskRepository taskRepository;
-    private final StudentRepository studentRepository;
+    private final SubmissionRepository submissionRepository;
+    private final ProgressRepository progressRepository;
 
     /**
      * Constructs a new {@code TaskService} with the specified repositories.
      *
-     * @param taskRepository    the repository for interacting with task data
-     * @param studentRepository the repository for interacting with student data
+     * @param taskRepository       the repository for interacting with task data
+     * @param submissionRepository the repository for interacting with submission data
+     * @param progressRepository   the repository maintaining the task completion counters
      */
-    public TaskService(TaskRepository taskRepository, StudentRepository studentRepository) {
+    public TaskService(TaskRepository taskRepository, SubmissionRepository submissionRepository,
+                       ProgressRepository progressRepository) {
         this.taskRepository = taskRepository;
-        this.studentRepository = studentRepository;
+        this.submissionRepository = submissionRepository;
+        this.progressRepository = progressRepository;
     }
 
     /**
@@ -35,36 +47,33 @@ public class TaskService {
      * @param courseId the ID of the course
      * @return a list of tasks for the specified course
      */
+    @Transactional(readOnly = true)
     public List<Task> getTasksByCourseId(Long courseId) {
         return taskRepository.findByCourseId(courseId);
     }
 
     /**
-     * Retrieves students by their IDs.
-     *
-     * @param studentIds the set of student IDs
-     * @return a list of students with the specified IDs
-     */
-    public List<Student> getStudentsByIds(Set<Long> studentIds) {
-        return studentRepository.findAllById(studentIds);
-    }
-
-    /**
-     * Saves a new or updated task to the database.
+     * Saves a new or updated task to the database and makes sure it has a completion counter.
      *
      * @param task the task to save
      * @return the saved task
      */
+    @Transactional
     public Task saveTask(Task task) {
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        progressRepository.createTaskProgress(saved.getId());
+        return saved;
     }
 
     /**
-     * Deletes a task by its ID.
+     * Deletes a task, its submissions and its completion counter by the task ID.
      *
      * @param taskId the ID of the task to delete
      */
+    @Transactional
     public void deleteTask(Long taskId) {
+        submissionRepository.deleteByTaskId(taskId);
+        progressRepository.deleteTaskProgress(taskId);
         taskRepository.deleteById(taskId);
     }
 
@@ -74,6 +83,7 @@ public class TaskService {
      * @param id the ID of the task
      * @return the task with the specified ID, or null if not found
      */
+    @Transactional(readOnly = true)
     public Task getTaskById(Long id) {
         return taskRepository.findById(id).orElse(null);
     }
@@ -84,11 +94,11 @@ public class TaskService {
      * @param id the ID of the task to deactivate
      * @throws RuntimeException if the task is not found
      */
+    @Transactional
     public void deactivateTask(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Завдання не знайдено!"));
-        task.setActive(false);
-        taskRepository.save(task);
+        if (taskRepository.updateActive(id, false) == 0) {
+            throw new RuntimeException("Завдання не знайдено!");
+        }
     }
 
     /**
@@ -97,11 +107,11 @@ public class TaskService {
      * @param id the ID of the task to activate
      * @throws RuntimeException if the task is not found
      */
+    @Transactional
     public void activateTask(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Завдання не знайдено!"));
-        task.setActive(true);
-        taskRepository.save(task);
+        if (taskRepository.updateActive(id, true) == 0) {
+            throw new RuntimeException("Завдання не знайдено!");
+        }
     }
 
     /**
@@ -110,8 +120,55 @@ public class TaskService {
      * @param courseId the ID of the course
      * @return a list of tasks for the specified course
      */
+    @Transactional(readOnly = true)
     public List<Task> getTasksForCourse(Long courseId) {
         List<Task> tasks = taskRepository.findByCourseId(courseId);
         return tasks;
     }
+
+    /**
+     * Retrieves a slice of summaries of the tasks of a course, ordered by ID.
+     *
+     * @param courseId the ID of the course
+     * @param afterId  the ID of the last task of the previous slice, or null for the first slice
+     * @param size     the maximum number of tasks in the slice
+     * @return a slice of task summaries
+     */
+    @Transactional(readOnly = true)
+    public Slice<TaskSummary> getTaskSummaries(Long courseId, Long afterId, int size) {
+        return taskRepository.findSummariesByCourseId(courseId, afterId == null ? 0L : afterId, PageRequest.of(0, size));
+    }
+
+    /**
+     * Retrieves the summary of a task by ID.
+     *
+     * @param id the ID of the task
+     * @return the task summary, or empty if the task does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<TaskSummary> findTaskSummary(Long id) {
+        return taskRepository.findSummaryById(id);
+    }
+
+    /**
+     * Retrieves the progress of a course from the maintained counters:
+     * how many students completed each task and the overall completion of the course.
+     *
+     * @param courseId the ID of the course
+     * @return the progress of the course and its tasks
+     */
+    @Transactional(readOnly = true)
+    public CourseProgressSummary getCourseProgress(Long courseId) {
+        List<TaskProgressRow> rows = progressRepository.findCourseProgress(courseId);
+        long enrolled = rows.isEmpty() ? progressRepository.findEnrolledCount(courseId) : rows.get(0).enrolledCount();
+        Map<Long, TaskProgressRow> tasks = new LinkedHashMap<>();
+        long completed = 0;
+        for (TaskProgressRow row : rows) {
+            tasks.put(row.taskId(), row);
+            completed += Math.min(row.completedCount(), enrolled);
+        }
+        long possible = enrolled * rows.size();
+        int percent = possible == 0 ? 0 : (int) (completed * 100 / possible);
+        return new CourseProgressSummary(enrolled, percent, tasks);
+    }
 }
@@ -1,10 +1,17 @@
 package project.education.service;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.education.dto.TeacherSummary;
+import project.education.fragment.FragmentCache;
 import project.education.model.Teacher;
+import project.education.repository.PageVersionRepository;
 import project.education.repository.TeacherRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service for managing {@link Teacher} entities.
@@ -13,14 +20,21 @@ import java.util.List;
 @Service
 public class TeacherService {
     private final TeacherRepository teacherRepository;
+    private final PageVersionRepository pageVersionRepository;
+    private final FragmentCache fragmentCache;
 
     /**
-     * Constructs a new {@code TeacherService} with the specified repository.
+     * Constructs a new {@code TeacherService} with the specified repositories.
      *
-     * @param teacherRepository the repository for interacting with teacher data
+     * @param teacherRepository     the repository for interacting with teacher data
+     * @param pageVersionRepository the repository maintaining the catalog version of the student pages
+     * @param fragmentCache         the cache of rendered course lists, which show teacher names, to invalidate
      */
-    public TeacherService(TeacherRepository teacherRepository) {
+    public TeacherService(TeacherRepository teacherRepository, PageVersionRepository pageVersionRepository,
+                          FragmentCache fragmentCache) {
         this.teacherRepository = teacherRepository;
+        this.pageVersionRepository = pageVersionRepository;
+        this.fragmentCache = fragmentCache;
     }
 
     /**
@@ -28,17 +42,36 @@ public class TeacherService {
      *
      * @return a list of all teachers
      */
+    @Transactional(readOnly = true)
     public List<Teacher> getAllTeachers() {
         return teacherRepository.findAll();
     }
 
+    /**
+     * Retrieves a slice of teachers ordered by ID, starting after the given ID.
+     * The cost does not depend on how deep the slice is in the table.
+     *
+     * @param afterId the ID of the last teacher of the previous slice, or null for the first slice
+     * @param size    the maximum number of teachers in the slice
+     * @return a slice of teachers
+     */
+    @Transactional(readOnly = true)
+    public Slice<Teacher> getTeachersAfter(Long afterId, int size) {
+        return teacherRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, PageRequest.of(0, size));
+    }
+
     /**
      * Saves a new or updated teacher to the database.
      *
      * @param teacher the teacher to save
      * @return the saved teacher
      */
+    @Transactional
     public Teacher saveTeacher(Teacher teacher) {
+        if (teacher.getId() != null) {
+            pageVersionRepository.incrementCatalogVersion();
+            fragmentCache.invalidateCatalog();
+        }
         return teacherRepository.save(teacher);
     }
 
@@ -47,8 +80,11 @@ public class TeacherService {
      *
      * @param id the ID of the teacher to delete
      */
+    @Transactional
     public void deleteTeacher(Long id) {
         teacherRepository.deleteById(id);
+        pageVersionRepository.incrementCatalogVersion();
+        fragmentCache.invalidateCatalog();
     }
 
     /**
@@ -58,7 +94,31 @@ public class TeacherService {
      * @return the teacher with the specified ID
      * @throws RuntimeException if the teacher is not found
      */
+    @Transactional(readOnly = true)
     public Teacher getTeacherById(Long id) {
         return teacherRepository.findById(id).orElseThrow(() -> new RuntimeException("Викладача не знайдено"));
     }
+
+    /**
+     * Retrieves a slice of teacher summaries ordered by ID, starting after the given ID.
+     *
+     * @param afterId the ID of the last teacher of the previous slice, or null for the first slice
+     * @param size    the maximum number of teachers in the slice
+     * @return a slice of teacher summaries
+     */
+    @Transactional(readOnly = true)
+    public Slice<TeacherSummary> getTeacherSummaries(Long afterId, int size) {
+        return teacherRepository.findSummariesAfter(afterId == null ? 0L : afterId, PageRequest.of(0, size));
+    }
+
+    /**
+     * Retrieves the summary of a teacher by ID.
+     *
+     * @param id the ID of the teacher
+     * @return the teacher summary, or empty if the teacher does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<TeacherSummary> findTeacherSummary(Long id) {
+        return teacherRepository.findSummaryById(id);
+    }
 }
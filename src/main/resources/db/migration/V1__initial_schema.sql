@@ -0,0 +1,77 @@
+-- Schema of the entities, the enrollment join table, the submissions, the progress counters and the ID sequences,
+-- as created by Hibernate for the embedded database.
+-- Written in SQL understood by both PostgreSQL and H2, so the same scripts run in production and in tests.
+-- The legacy student_answers and student_task_statuses tables are not created: their rows live in task_submission.
+
+CREATE SEQUENCE teacher_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE course_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE student_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE teacher (
+    id      BIGINT NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    name    VARCHAR(255),
+    email   VARCHAR(255),
+    CONSTRAINT pk_teacher PRIMARY KEY (id)
+);
+
+CREATE TABLE course (
+    id         BIGINT NOT NULL,
+    version    BIGINT DEFAULT 0 NOT NULL,
+    title      VARCHAR(255),
+    teacher_id BIGINT NOT NULL,
+    CONSTRAINT pk_course PRIMARY KEY (id),
+    CONSTRAINT fk_course_teacher FOREIGN KEY (teacher_id) REFERENCES teacher (id)
+);
+
+CREATE TABLE student (
+    id      BIGINT NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    name    VARCHAR(255),
+    email   VARCHAR(255),
+    CONSTRAINT pk_student PRIMARY KEY (id)
+);
+
+CREATE TABLE task (
+    id          BIGINT  NOT NULL,
+    version     BIGINT  DEFAULT 0 NOT NULL,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    active      BOOLEAN NOT NULL,
+    course_id   BIGINT  NOT NULL,
+    CONSTRAINT pk_task PRIMARY KEY (id),
+    CONSTRAINT fk_task_course FOREIGN KEY (course_id) REFERENCES course (id)
+);
+
+CREATE TABLE course_student (
+    student_id BIGINT NOT NULL,
+    course_id  BIGINT NOT NULL,
+    CONSTRAINT pk_course_student PRIMARY KEY (student_id, course_id),
+    CONSTRAINT fk_course_student_student FOREIGN KEY (student_id) REFERENCES student (id),
+    CONSTRAINT fk_course_student_course FOREIGN KEY (course_id) REFERENCES course (id)
+);
+
+CREATE TABLE task_submission (
+    student_id   BIGINT  NOT NULL,
+    task_id      BIGINT  NOT NULL,
+    answer       VARCHAR(255),
+    completed    BOOLEAN NOT NULL,
+    submitted_at TIMESTAMP(6),
+    CONSTRAINT pk_task_submission PRIMARY KEY (student_id, task_id)
+);
+
+-- The primary key serves the submissions of a student; every task-keyed read and delete needs this index.
+CREATE INDEX idx_task_submission_task ON task_submission (task_id, student_id);
+
+CREATE TABLE task_progress (
+    task_id         BIGINT NOT NULL,
+    completed_count BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_task_progress PRIMARY KEY (task_id)
+);
+
+CREATE TABLE course_progress (
+    course_id      BIGINT NOT NULL,
+    enrolled_count BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_course_progress PRIMARY KEY (course_id)
+);
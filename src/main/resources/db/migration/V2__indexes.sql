@@ -0,0 +1,19 @@
+-- Indexes for the lookups and foreign keys used by the repositories.
+-- Unlike H2, PostgreSQL does not index foreign key columns by itself.
+-- IF NOT EXISTS keeps the script safe on a schema created by Hibernate and baselined at version 1.
+
+-- roster import and search by email
+CREATE INDEX IF NOT EXISTS idx_student_email ON student (email);
+
+-- courses of a teacher, in ID order
+CREATE INDEX IF NOT EXISTS idx_course_teacher ON course (teacher_id, id);
+
+-- tasks of a course, in ID order
+CREATE INDEX IF NOT EXISTS idx_task_course ON task (course_id, id);
+
+-- students of a course; the primary key only serves the courses of a student
+CREATE INDEX IF NOT EXISTS idx_course_student_course ON course_student (course_id, student_id);
+
+-- submissions of a task, in student order; created by V1 since it is part of the table,
+-- and here for schemas created by Hibernate before the index was declared and baselined at version 1
+CREATE INDEX IF NOT EXISTS idx_task_submission_task ON task_submission (task_id, student_id);
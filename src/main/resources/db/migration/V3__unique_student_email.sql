@@ -0,0 +1,4 @@
+-- Students are identified by email, for example by the roster import, so an email belongs to one student only.
+-- Fails if the table already holds duplicate emails; merge those students before migrating.
+DROP INDEX IF EXISTS idx_student_email;
+CREATE UNIQUE INDEX uk_student_email ON student (email);
@@ -0,0 +1,8 @@
+-- Version of the course catalog, incremented by every course or teacher write and read by the student page ETag.
+CREATE TABLE catalog_version (
+    id      BIGINT NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_catalog_version PRIMARY KEY (id)
+);
+
+INSERT INTO catalog_version (id, version) VALUES (1, 0);
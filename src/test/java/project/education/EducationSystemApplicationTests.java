@@ -3,7 +3,12 @@ package project.education;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:context;DB_CLOSE_DELAY=-1",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"education.submissions.ingest.journal=build/context/submissions.journal",
+		"education.search.index-dir="
+})
 class EducationSystemApplicationTests {
 
 	@Test
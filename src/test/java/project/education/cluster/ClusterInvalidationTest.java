@@ -0,0 +1,138 @@
+package project.education.cluster;
+
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import project.education.EducationSystemApplication;
+import project.education.fragment.FragmentCache;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Teacher;
+import project.education.search.SearchDocumentType;
+import project.education.search.SearchService;
+import project.education.service.CourseService;
+import project.education.service.StudentService;
+import project.education.service.TeacherService;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.sql.SQLException;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two instances on one database, exchanging invalidations over UDP, and checks that changes made
+ * on one instance show up in the second-level cache, query cache, rendered fragments and search index of the other.
+ */
+@SpringBootTest(properties = {
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir=",
+        "education.cluster.bus=udp"
+})
+class ClusterInvalidationTest {
+    private static final long TIMEOUT_MS = 5000;
+
+    private static Server server;
+    private static int firstPort;
+    private static int secondPort;
+
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private StudentService studentService;
+
+    @DynamicPropertySource
+    static void cluster(DynamicPropertyRegistry registry) throws SQLException, IOException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        firstPort = freeUdpPort();
+        secondPort = freeUdpPort();
+        registry.add("spring.datasource.url", ClusterInvalidationTest::url);
+        registry.add("education.cluster.udp.port", () -> firstPort);
+        registry.add("education.cluster.udp.peers", ClusterInvalidationTest::peers);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void keepsCachesOfTheOtherInstanceCoherent() {
+        try (ConfigurableApplicationContext second = new SpringApplicationBuilder(EducationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url(), "--education.submissions.ingest.enabled=false",
+                        "--education.search.index-dir=", "--education.cluster.bus=udp",
+                        "--education.cluster.udp.port=" + secondPort, "--education.cluster.udp.peers=" + peers(),
+                        "--spring.jmx.enabled=false")) {
+            TeacherService secondTeachers = second.getBean(TeacherService.class);
+            CourseService secondCourses = second.getBean(CourseService.class);
+            FragmentCache secondFragments = second.getBean(FragmentCache.class);
+            SearchService secondSearch = second.getBean(SearchService.class);
+
+            Teacher teacher = teacherService.saveTeacher(new Teacher("Василь Гнатюк", "hnatiuk@example.com"));
+            Course course = courseService.saveCourse(new Course("Мережі", teacher));
+            assertEquals("Василь Гнатюк", secondTeachers.getTeacherById(teacher.getId()).getName());
+            assertEquals(1, secondCourses.getCoursesByTeacherId(teacher.getId()).size());
+            assertEquals("Мережі", secondCourses.getCourseById(course.getId()).getTitle());
+            assertEquals("roster", secondFragments.getRoster(course.getId(), () -> "roster"));
+
+            teacher.setName("Василь Гнатюк-Коваль");
+            teacherService.saveTeacher(teacher);
+            eventually(() -> secondTeachers.getTeacherById(teacher.getId()).getName().equals("Василь Гнатюк-Коваль"));
+
+            courseService.saveCourse(new Course("Мережі 2", teacher));
+            eventually(() -> secondCourses.getCoursesByTeacherId(teacher.getId()).size() == 2);
+
+            course.setTitle("Комп'ютерні мережі");
+            courseService.saveCourse(course);
+            eventually(() -> secondCourses.getCourseById(course.getId()).getTitle().equals("Комп'ютерні мережі"));
+            eventually(() -> !secondSearch.search("комп'ютерні", SearchDocumentType.COURSE, 10).isEmpty());
+
+            Student student = studentService.saveStudent(new Student("Олеся", "olesia.cluster@example.com"));
+            eventually(() -> !secondSearch.search("olesia.cluster", SearchDocumentType.STUDENT, 10).isEmpty());
+            studentService.enrollToCourse(student.getId(), course.getId());
+            eventually(() -> secondFragments.getRoster(course.getId(), () -> "roster with Олеся").equals("roster with Олеся"));
+
+            studentService.deleteStudent(student.getId());
+            eventually(() -> secondSearch.search("olesia.cluster", SearchDocumentType.STUDENT, 10).isEmpty());
+        }
+    }
+
+    private static void eventually(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "the other instance still shows outdated data");
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static int freeUdpPort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String peers() {
+        return "localhost:" + firstPort + ",localhost:" + secondPort;
+    }
+
+    private static String url() {
+        return "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:cluster;DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,81 @@
+package project.education.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Sends events between two buses through a relay that can drop datagrams, and checks that the loss
+ * of the last datagram is detected from the next heartbeat.
+ */
+class UdpInvalidationBusTest {
+    @Test
+    void heartbeatRevealsTheLossOfTheLastDatagram() throws Exception {
+        BlockingQueue<InvalidationEvent> received = new LinkedBlockingQueue<>();
+        AtomicBoolean dropping = new AtomicBoolean();
+        try (UdpInvalidationBus receiver = new UdpInvalidationBus(0, "");
+             DatagramSocket relay = new DatagramSocket(0)) {
+            receiver.subscribe(received::add);
+            Thread relaying = relay(relay, receiver.getLocalPort(), dropping);
+            try (UdpInvalidationBus sender = new UdpInvalidationBus(0, "localhost:" + relay.getLocalPort())) {
+                sender.publish(new InvalidationEvent(InvalidationEvent.Kind.COURSE, List.of(1L)));
+                assertEquals(InvalidationEvent.Kind.COURSE, poll(received).kind());
+
+                sender.sendHeartbeat();
+                assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+
+                dropping.set(true);
+                sender.publish(new InvalidationEvent(InvalidationEvent.Kind.COURSE, List.of(2L)));
+                assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+                dropping.set(false);
+
+                sender.sendHeartbeat();
+                assertEquals(InvalidationEvent.Kind.ALL, poll(received).kind());
+            } finally {
+                relay.close();
+                relaying.join();
+            }
+        }
+    }
+
+    private static InvalidationEvent poll(BlockingQueue<InvalidationEvent> received) throws InterruptedException {
+        InvalidationEvent event = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event, "no invalidation was received");
+        return event;
+    }
+
+    private static Thread relay(DatagramSocket relay, int port, AtomicBoolean dropping) {
+        InetSocketAddress target = new InetSocketAddress("localhost", port);
+        Thread thread = new Thread(() -> {
+            byte[] buffer = new byte[65507];
+            while (!relay.isClosed()) {
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                try {
+                    relay.receive(packet);
+                    if (!dropping.get()) {
+                        relay.send(new DatagramPacket(packet.getData(), packet.getLength(), target));
+                    }
+                } catch (SocketException e) {
+                    return;
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }, "invalidation-relay");
+        thread.start();
+        return thread;
+    }
+}
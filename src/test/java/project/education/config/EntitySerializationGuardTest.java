@@ -0,0 +1,32 @@
+package project.education.config;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.junit.jupiter.api.Test;
+import project.education.dto.StudentSummary;
+import project.education.model.Student;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EntitySerializationGuardTest {
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new EntitySerializationGuard())
+            .setFilterProvider(new SimpleFilterProvider().addFilter("fields", SimpleBeanPropertyFilter.serializeAll()));
+
+    @Test
+    void rejectsEntities() {
+        assertThrows(JsonMappingException.class, () -> mapper.writeValueAsString(new Student()));
+        assertThrows(JsonMappingException.class, () -> mapper.writeValueAsString(List.of(new Student())));
+    }
+
+    @Test
+    void serializesDtos() throws Exception {
+        assertEquals("{\"id\":1,\"name\":\"Name\",\"email\":\"mail\"}",
+                mapper.writeValueAsString(new StudentSummary(1L, "Name", "mail")));
+    }
+}
@@ -0,0 +1,90 @@
+package project.education.config;
+
+import org.flywaydb.core.Flyway;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import project.education.EducationSystemApplication;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Teacher;
+import project.education.service.CourseService;
+import project.education.service.StudentService;
+import project.education.service.TeacherService;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Checks that the production profile creates the schema with the migrations, that the schema matches
+ * the entities, and that two application instances can share the server database.
+ * An H2 TCP server stands in for PostgreSQL.
+ */
+@SpringBootTest(properties = {
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+@ActiveProfiles("prod")
+class ProdProfileTest {
+    private static Server server;
+
+    @Autowired
+    private Flyway flyway;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private StudentService studentService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        registry.add("spring.datasource.url", ProdProfileTest::url);
+        registry.add("spring.datasource.username", () -> "sa");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void migratesTheSchemaAndSharesItBetweenInstances() {
+        assertEquals("4", flyway.info().current().getVersion().getVersion());
+
+        try (ConfigurableApplicationContext second = new SpringApplicationBuilder(EducationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("prod")
+                .run("--spring.datasource.url=" + url(), "--spring.datasource.username=sa",
+                        "--education.submissions.ingest.enabled=false", "--education.search.index-dir=",
+                        "--spring.jmx.enabled=false")) {
+            StudentService secondStudents = second.getBean(StudentService.class);
+            Teacher teacher = teacherService.saveTeacher(new Teacher("Ганна Бойко", "boiko@example.com"));
+            Course course = courseService.saveCourse(new Course("Бази даних", teacher));
+
+            Student first = studentService.saveStudent(new Student("Олег", "oleh@example.com"));
+            Student other = secondStudents.saveStudent(new Student("Ірина", "iryna@example.com"));
+            assertNotEquals(first.getId(), other.getId());
+
+            secondStudents.enrollToCourse(first.getId(), course.getId());
+            studentService.enrollToCourse(other.getId(), course.getId());
+            assertEquals(2, studentService.getStudentsInCourse(course.getId()).size());
+            assertEquals(2, secondStudents.getStudentsInCourse(course.getId()).size());
+        }
+    }
+
+    private static String url() {
+        return "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:prod;DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,120 @@
+package project.education.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.service.CourseService;
+import project.education.service.StudentService;
+import project.education.service.TaskService;
+import project.education.service.TeacherService;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Runs the application on a primary and a replica H2 database, copying the primary to the replica by hand,
+ * and checks that pages read from the replica except right after a write by the same client,
+ * and that a request continuing asynchronously does not leave its thread reading from the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY,
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.datasource.replica-urls=" + ReplicaRoutingTest.REPLICA,
+        "education.datasource.replica-max-lag-ms=60000",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+    static final String PRIMARY = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void readsFromReplicaExceptAfterOwnWrites() throws Exception {
+        Teacher teacher = teacherService.saveTeacher(new Teacher("Ірина Мельник", "melnyk.replica@example.com"));
+        Course course = courseService.saveCourse(new Course("Бази даних", teacher));
+        Task task = taskService.saveTask(new Task("Реплікація", "Опишіть потокову реплікацію", course));
+        Student student = studentService.saveStudent(new Student("Марко", "marko.replica@example.com"));
+        studentService.enrollToCourse(student.getId(), course.getId());
+        replicate();
+
+        String coursePage = "/course/student/" + course.getId() + "?studentId=" + student.getId();
+        MvcResult submitted = mockMvc.perform(post("/task/" + task.getId() + "/submit")
+                        .param("studentId", String.valueOf(student.getId()))
+                        .param("courseId", String.valueOf(course.getId()))
+                        .param("answer", "WAL"))
+                .andReturn();
+        assertEquals(coursePage, submitted.getResponse().getRedirectedUrl());
+        Cookie primaryUntil = submitted.getResponse().getCookie(ReadYourWritesInterceptor.COOKIE);
+        assertNotNull(primaryUntil);
+
+        assertTrue(page(coursePage, primaryUntil).contains("Завдання завершено"));
+        assertFalse(page(coursePage, null).contains("Завдання завершено"));
+
+        MvcResult export = mockMvc.perform(get("/task/" + task.getId() + "/responses/export").cookie(primaryUntil))
+                .andReturn();
+        assertTrue(export.getRequest().isAsyncStarted());
+        assertFalse(page(coursePage, null).contains("Завдання завершено"));
+
+        Student olha = studentService.saveStudent(new Student("Ольга", "olha.replica@example.com"));
+        studentService.enrollToCourse(olha.getId(), course.getId());
+        assertTrue(page(coursePage, null).contains("olha.replica@example.com"));
+
+        replicate();
+        assertTrue(page(coursePage, null).contains("Завдання завершено"));
+    }
+
+    private String page(String url, Cookie cookie) throws Exception {
+        return mockMvc.perform(cookie == null ? get(url) : get(url).cookie(cookie))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static void replicate() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT NOPASSWORDS")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String command : script) {
+                statement.execute(command);
+            }
+        }
+    }
+}
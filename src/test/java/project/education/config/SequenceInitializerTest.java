@@ -0,0 +1,80 @@
+package project.education.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.education.model.Course;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.repository.CourseRepository;
+import project.education.repository.TaskRepository;
+import project.education.repository.TeacherRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that entity IDs come from pooled sequences: new rows never reuse existing IDs
+ * and inserts are sent in JDBC batches.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sequences;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class SequenceInitializerTest {
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private SequenceInitializer sequenceInitializer;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void newRowsGetIdsPastRowsInsertedWithExplicitIds() {
+        jdbcTemplate.update("INSERT INTO teacher (id, name, email, version) VALUES (1000, 'Imported', 'imported@example.com', 0)");
+        sequenceInitializer.alignAll();
+
+        Teacher teacher = teacherRepository.save(new Teacher("New", "new@example.com"));
+
+        assertTrue(teacher.getId() > 1000, "ID " + teacher.getId() + " reuses an existing ID");
+    }
+
+    @Test
+    void insertsTasksInBatches() {
+        Teacher teacher = teacherRepository.save(new Teacher("Batch Teacher", "batch@example.com"));
+        Course course = courseRepository.save(new Course("Batch Course", teacher));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Task> saved = transactionTemplate.execute(status -> {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                tasks.add(new Task("Task " + i, "batched", course));
+            }
+            return taskRepository.saveAll(tasks);
+        });
+
+        assertEquals(500, saved.stream().map(Task::getId).distinct().count());
+        assertTrue(statistics.getPrepareStatementCount() < 50,
+                statistics.getPrepareStatementCount() + " statements prepared for 500 inserts");
+    }
+}
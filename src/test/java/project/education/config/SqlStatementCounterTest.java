@@ -0,0 +1,42 @@
+package project.education.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.education.model.Teacher;
+import project.education.repository.PageVersionRepository;
+import project.education.repository.TeacherRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the per-request statement count includes the statements of the JDBC repositories,
+ * not only those prepared by Hibernate.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-counter;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class SqlStatementCounterTest {
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    private PageVersionRepository pageVersionRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Test
+    void countsJdbcAndHibernateStatements() {
+        Teacher teacher = teacherRepository.save(new Teacher("Лідія Гончар", "honchar.statements@example.com"));
+
+        sqlStatementCounter.reset();
+        pageVersionRepository.findTeacherPageVersion(teacher.getId());
+        assertEquals(1, sqlStatementCounter.get());
+
+        sqlStatementCounter.reset();
+        teacherRepository.findSummaryById(teacher.getId());
+        assertEquals(1, sqlStatementCounter.get());
+    }
+}
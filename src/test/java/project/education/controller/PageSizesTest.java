@@ -0,0 +1,76 @@
+package project.education.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.ModelAndView;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Teacher;
+import project.education.service.CourseService;
+import project.education.service.StudentService;
+import project.education.service.TeacherService;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Checks that the student and teacher lists and the available courses of a student account serve at least one
+ * and at most {@link PageSizes#MAX} rows per page, whatever page size is requested.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:page-sizes;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+@AutoConfigureMockMvc
+class PageSizesTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+
+    @Test
+    void listsClampTheRequestedPageSize() throws Exception {
+        for (int i = 0; i <= PageSizes.MAX; i++) {
+            studentService.saveStudent(new Student("Студент " + i, "student" + i + ".paging@example.com"));
+            teacherService.saveTeacher(new Teacher("Викладач " + i, "teacher" + i + ".paging@example.com"));
+        }
+
+        for (String list : List.of("/student", "/teacher")) {
+            assertEquals(1, rows(list + "?size=0", list.substring(1) + "s"));
+            assertEquals(1, rows(list + "?size=-5", list.substring(1) + "s"));
+            assertEquals(PageSizes.MAX, rows(list + "?size=1000000", list.substring(1) + "s"));
+        }
+    }
+
+    @Test
+    void studentAccountClampsTheRequestedPageSize() throws Exception {
+        Teacher teacher = teacherService.saveTeacher(new Teacher("Віра Руденко", "rudenko.paging@example.com"));
+        for (int i = 0; i <= PageSizes.MAX; i++) {
+            courseService.saveCourse(new Course("Курс " + i, teacher));
+        }
+        Student student = studentService.saveStudent(new Student("Остап", "ostap.paging@example.com"));
+
+        String account = "/student/" + student.getId();
+        assertEquals(1, rows(account + "?size=0", "availableCourses"));
+        assertEquals(PageSizes.MAX, rows(account + "?size=1000000", "availableCourses"));
+    }
+
+    private int rows(String url, String attribute) throws Exception {
+        ModelAndView page = mockMvc.perform(get(url)).andReturn().getModelAndView();
+        assertNotNull(page, url + " rendered no page");
+        assertEquals(page.getModel().get("size"), ((List<?>) page.getModel().get(attribute)).size());
+        return ((List<?>) page.getModel().get(attribute)).size();
+    }
+}
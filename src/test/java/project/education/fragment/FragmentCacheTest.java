@@ -0,0 +1,112 @@
+package project.education.fragment;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.service.CourseService;
+import project.education.service.StudentService;
+import project.education.service.SubmissionService;
+import project.education.service.TaskService;
+import project.education.service.TeacherService;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Checks that cached rosters, task rows and course lists are invalidated by the existing write paths
+ * and that the task status on the student course page stays specific to each student.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fragments;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+@AutoConfigureMockMvc
+class FragmentCacheTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Test
+    void invalidatesRostersAndTaskRowsAndKeepsStatusPerStudent() throws Exception {
+        Teacher teacher = teacherService.saveTeacher(new Teacher("Олена Коваль", "koval@example.com"));
+        Course course = courseService.saveCourse(new Course("Алгоритми", teacher));
+        Task task = taskService.saveTask(new Task("Сортування", "Реалізуйте сортування злиттям", course));
+        Student anna = studentService.saveStudent(new Student("Анна", "anna.fragments@example.com"));
+        Student ivan = studentService.saveStudent(new Student("Іван", "ivan.fragments@example.com"));
+        studentService.enrollToCourse(anna.getId(), course.getId());
+
+        String teacherPage = "/course/teacher/" + course.getId();
+        assertTrue(page(teacherPage).contains("anna.fragments@example.com"));
+        assertFalse(page(teacherPage).contains("ivan.fragments@example.com"));
+
+        studentService.enrollToCourse(ivan.getId(), course.getId());
+        assertTrue(page(teacherPage).contains("ivan.fragments@example.com"));
+
+        studentService.leaveCourse(anna.getId(), course.getId());
+        assertFalse(page(teacherPage).contains("anna.fragments@example.com"));
+        assertTrue(page("/course/student/" + course.getId() + "?studentId=" + ivan.getId())
+                .contains("ivan.fragments@example.com"));
+
+        studentService.enrollToCourse(anna.getId(), course.getId());
+        submissionService.submit(task.getId(), anna.getId(), "merge sort");
+        assertTrue(page("/course/student/" + course.getId() + "?studentId=" + anna.getId()).contains("Завдання завершено"));
+        String ivanPage = page("/course/student/" + course.getId() + "?studentId=" + ivan.getId());
+        assertTrue(ivanPage.contains("Реалізуйте сортування злиттям"));
+        assertFalse(ivanPage.contains("Завдання завершено"));
+
+        assertTrue(page(teacherPage).contains("Активне"));
+        taskService.deactivateTask(task.getId());
+        assertTrue(page(teacherPage).contains("Деактивоване"));
+
+        Task renamed = taskService.getTaskById(task.getId());
+        renamed.setTitle("Швидке сортування");
+        taskService.saveTask(renamed);
+        assertTrue(page(teacherPage).contains("Швидке сортування"));
+    }
+
+    @Test
+    void invalidatesEnrolledCoursesOfStudentAccount() throws Exception {
+        Teacher teacher = teacherService.saveTeacher(new Teacher("Петро Сидоренко", "sydorenko@example.com"));
+        Course course = courseService.saveCourse(new Course("Фізика", teacher));
+        Student student = studentService.saveStudent(new Student("Марія", "maria.fragments@example.com"));
+        String accountPage = "/student/" + student.getId();
+        assertFalse(enrolledCourses(accountPage).contains("Фізика"));
+
+        studentService.enrollToCourse(student.getId(), course.getId());
+        assertTrue(enrolledCourses(accountPage).contains("Фізика"));
+
+        course.setTitle("Квантова фізика");
+        courseService.saveCourse(course);
+        assertTrue(enrolledCourses(accountPage).contains("Квантова фізика"));
+
+        studentService.leaveCourse(student.getId(), course.getId());
+        assertFalse(enrolledCourses(accountPage).contains("фізика"));
+    }
+
+    private String page(String url) throws Exception {
+        return mockMvc.perform(get(url)).andReturn().getResponse().getContentAsString();
+    }
+
+    private String enrolledCourses(String url) throws Exception {
+        String page = page(url);
+        return page.substring(page.indexOf("Курси, на які ви вже записані"));
+    }
+}
@@ -0,0 +1,81 @@
+package project.education.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Teacher;
+import project.education.service.CourseService;
+import project.education.service.StudentService;
+import project.education.service.TeacherService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that an enrollment losing the race for its row to a concurrent enrollment of the same student
+ * reports the student as already enrolled and leaves its transaction usable.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:enrollments;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class EnrollmentRepositoryTest {
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void losingAConcurrentEnrollmentReturnsFalse() throws Exception {
+        Teacher teacher = teacherService.saveTeacher(new Teacher("Марта Кравець", "kravets.enroll@example.com"));
+        Course course = courseService.saveCourse(new Course("Логіка", teacher));
+        Student student = studentService.saveStudent(new Student("Захар", "zakhar.enroll@example.com"));
+
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(
+                () -> transactionTemplate.execute(status -> {
+                    boolean enrolled = enrollmentRepository.enroll(student.getId(), course.getId());
+                    inserted.countDown();
+                    try {
+                        commit.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return enrolled;
+                }));
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(
+                () -> transactionTemplate.execute(status -> {
+                    boolean enrolled = enrollmentRepository.enroll(student.getId(), course.getId());
+                    jdbcTemplate.queryForObject("SELECT COUNT(*) FROM course_student", Integer.class);
+                    return enrolled;
+                }));
+        Thread.sleep(200);
+        commit.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertFalse(second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT enrolled_count FROM course_progress WHERE course_id = ?", Integer.class, course.getId()));
+    }
+}
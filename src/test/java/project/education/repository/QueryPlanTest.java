@@ -0,0 +1,266 @@
+package project.education.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.education.model.Course;
+import project.education.model.PendingSubmission;
+import project.education.model.Student;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.search.SearchDocumentType;
+import project.education.seed.DataGenerator;
+import project.education.seed.SeedPlan;
+import project.education.service.CourseService;
+import project.education.service.StudentService;
+import project.education.service.TaskService;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every repository query against a generated data set in the schema of the Flyway migrations,
+ * which production runs on, and checks with {@code EXPLAIN}
+ * that no statement reads a whole table or a whole index, except those matching {@link #WHOLE_TABLE_STATEMENTS},
+ * and that no plan depends on an index H2 creates on its own for a foreign key.
+ * A new repository method has to be called in {@link #runEveryRepositoryQuery} to be checked.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plans;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class QueryPlanTest {
+    /**
+     * Patterns of the statements that read whole tables by design, with the reason.
+     */
+    private static final Map<String, String> WHOLE_TABLE_STATEMENTS = Map.of(
+            "^SELECT [tc]\\.id\\s+FROM (task|course) [tc]\\s+LEFT JOIN \\1_progress ",
+            "reconciliation looks for drifted counters of every task and course",
+            "^DELETE FROM (task|course)_progress p WHERE NOT EXISTS", "reconciliation removes orphan counters",
+            "^SELECT id, \\w+, \\w+ FROM \\w+ ORDER BY id$",
+            "the search index is compared with and rebuilt from whole tables",
+            "(?i)\\blower\\(\\w+\\.title\\) like ",
+            "a course title fragment matches anywhere in the title, which no B-tree index serves");
+
+    private static final Pattern SUBSTRING_MATCH = Pattern.compile("(?i)\\bLIKE\\b[^,]*'%'");
+
+    private static final Pattern ACCESS_PATH = Pattern.compile(
+            "/\\* PUBLIC\\.([A-Z0-9_]+)(\\.tableScan|: ([^*]*))? \\*/(\\s*/\\* direct lookup \\*/)?");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataGenerator dataGenerator;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private PageVersionRepository pageVersionRepository;
+    @Autowired
+    private ProgressRepository progressRepository;
+    @Autowired
+    private RosterRepository rosterRepository;
+    @Autowired
+    private SearchDocumentRepository searchDocumentRepository;
+    @Autowired
+    private SequenceRepository sequenceRepository;
+    @Autowired
+    private SubmissionBatchWriter submissionBatchWriter;
+    @Autowired
+    private SubmissionExportRepository submissionExportRepository;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void noRepositoryQueryScansAWholeTable() {
+        dataGenerator.generate(SeedPlan.forStudents(2000));
+        jdbcTemplate.execute("ANALYZE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS_MAX_ENTRIES 1000");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        List<String> statements;
+        try {
+            runEveryRepositoryQuery();
+            statements = jdbcTemplate.queryForList(
+                    "SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", String.class);
+        } finally {
+            jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        }
+
+        Map<String, String> leadingColumns = new HashMap<>();
+        // H2 silently creates an index for every foreign key and PostgreSQL does not, so such an index
+        // only counts where a declared index of the same table starts with the same column
+        jdbcTemplate.query("""
+                WITH leading AS (
+                    SELECT c.TABLE_NAME, c.INDEX_NAME, c.COLUMN_NAME,
+                           i.IS_GENERATED AND i.INDEX_TYPE_NAME = 'INDEX' AS FOREIGN_KEY_ONLY
+                    FROM INFORMATION_SCHEMA.INDEX_COLUMNS c
+                    JOIN INFORMATION_SCHEMA.INDEXES i ON i.INDEX_SCHEMA = c.INDEX_SCHEMA AND i.INDEX_NAME = c.INDEX_NAME
+                    WHERE c.TABLE_SCHEMA = 'PUBLIC' AND c.ORDINAL_POSITION = 1)
+                SELECT l.INDEX_NAME, l.COLUMN_NAME FROM leading l
+                WHERE NOT l.FOREIGN_KEY_ONLY OR EXISTS (SELECT 1 FROM leading d
+                    WHERE d.TABLE_NAME = l.TABLE_NAME AND d.COLUMN_NAME = l.COLUMN_NAME AND NOT d.FOREIGN_KEY_ONLY)
+                """, rs -> {
+            leadingColumns.put(rs.getString(1), rs.getString(2));
+        });
+        List<String> scans = new ArrayList<>();
+        int explained = 0;
+        for (String sql : statements) {
+            if (!isDataStatement(sql) || isWholeTableByDesign(sql)) {
+                continue;
+            }
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            explained++;
+            String scan = findScan(plan, leadingColumns, SUBSTRING_MATCH.matcher(sql).find());
+            if (scan != null) {
+                scans.add(scan + " in:\n" + plan);
+            }
+        }
+        assertTrue(explained > 50, "only " + explained + " statements were checked");
+        assertTrue(scans.isEmpty(), String.join("\n\n", scans));
+    }
+
+    private void runEveryRepositoryQuery() {
+        Long teacherId = 1L;
+        Long courseId = 1L;
+        Long studentId = studentRepository.findByCourseId(courseId).get(0).getId();
+        Long taskId = taskRepository.findByCourseId(courseId).get(0).getId();
+        PageRequest page = PageRequest.of(0, 20);
+
+        courseRepository.findById(courseId);
+        courseRepository.existsById(courseId);
+        courseRepository.findByTeacherId(teacherId);
+        courseRepository.findByIdGreaterThanOrderByIdAsc(courseId, page);
+        courseRepository.findAvailableForStudent(studentId, 0L, null, page);
+        courseRepository.findAvailableForStudent(studentId, 0L, "курс", page);
+        courseRepository.findEnrolledForStudent(studentId);
+        courseRepository.findSummariesAfter(0L, page);
+        courseRepository.findSummaryById(courseId);
+
+        studentRepository.findById(studentId);
+        studentRepository.existsById(studentId);
+        studentRepository.findByIdGreaterThanOrderByIdAsc(studentId, page);
+        studentRepository.findSummariesAfter(0L, page);
+        studentRepository.findSummaryById(studentId);
+        studentRepository.findSummariesByCourseId(courseId, 0L, page);
+
+        teacherRepository.findById(teacherId);
+        teacherRepository.findByIdGreaterThanOrderByIdAsc(0L, page);
+        teacherRepository.findSummariesAfter(0L, page);
+        teacherRepository.findSummaryById(teacherId);
+
+        taskRepository.findById(taskId);
+        taskRepository.findActiveById(taskId);
+        taskRepository.findSummariesByCourseId(courseId, 0L, page);
+        taskRepository.findSummaryById(taskId);
+        taskService.deactivateTask(taskId);
+        taskService.activateTask(taskId);
+
+        submissionRepository.findByTaskId(taskId);
+        submissionRepository.findResponseRows(taskId, page);
+        submissionRepository.findCompletedTaskIds(studentId, List.of(taskId, taskId + 1));
+        submissionRepository.findSummariesByTaskId(taskId, 0L, page);
+        submissionBatchWriter.write(List.of(new PendingSubmission(taskId, studentId, "відповідь", Instant.now())));
+        submissionExportRepository.findByTaskId(taskId, 0L, 500);
+        submissionExportRepository.findTaskIdsByCourseId(courseId);
+
+        pageVersionRepository.findTeacherPageVersion(teacherId);
+        pageVersionRepository.findCoursePageVersion(courseId);
+        pageVersionRepository.findStudentPageVersion(studentId);
+
+        progressRepository.findCourseProgress(courseId);
+        progressRepository.findEnrolledCount(courseId);
+        progressRepository.addCompleted(taskId, 1);
+        progressRepository.addCompleted(Map.of(taskId, -1L));
+        progressRepository.reconcile();
+
+        rosterRepository.findStudentIdsByEmail(List.of("student1@example.com", "nobody@example.com"));
+        rosterRepository.findExistingCourseIds(List.of(courseId, -1L));
+        searchDocumentRepository.forEach(SearchDocumentType.TEACHER, document -> { });
+        searchDocumentRepository.findAll(SearchDocumentType.STUDENT, List.of(studentId, -1L));
+        sequenceRepository.alignWithTable(Student.ID_SEQUENCE, "student");
+
+        Student student = studentService.saveStudent(new Student("Плани Запитів", "plans@example.com"));
+        studentService.enrollToCourse(student.getId(), courseId);
+        studentService.leaveCourse(student.getId(), courseId);
+        enrollmentRepository.enrollMany(courseId, List.of(student.getId()));
+        enrollmentRepository.enrollAll(Map.of(courseId + 1, Set.of(student.getId())));
+        studentService.deleteStudent(student.getId());
+
+        Teacher teacher = teacherRepository.findById(teacherId).orElseThrow();
+        Course course = courseService.saveCourse(new Course("Порожній курс", teacher));
+        Task task = taskService.saveTask(new Task("Завдання", "Опис", course));
+        taskService.deleteTask(task.getId());
+        courseService.deleteCourse(course.getId());
+    }
+
+    private static boolean isDataStatement(String sql) {
+        String statement = sql.stripLeading().toUpperCase();
+        return (statement.startsWith("SELECT") || statement.startsWith("INSERT") || statement.startsWith("UPDATE")
+                || statement.startsWith("DELETE") || statement.startsWith("MERGE") || statement.startsWith("WITH"))
+                && !statement.contains("INFORMATION_SCHEMA") && !statement.contains("NEXT VALUE FOR");
+    }
+
+    private static boolean isWholeTableByDesign(String sql) {
+        return WHOLE_TABLE_STATEMENTS.keySet().stream().anyMatch(regex -> Pattern.compile(regex).matcher(sql.strip()).find());
+    }
+
+    /**
+     * Finds an access path that reads a whole table: a table scan, an index read without conditions
+     * other than a direct lookup of its first or last entry, or an index whose conditions do not include its leading column.
+     * An index missing from {@code leadingColumns} is reported too.
+     * <p>
+     * A keyset condition such as {@code ID > ?} only bounds the read when the rows it finds are returned until
+     * the limit is reached. When a substring match filters them, the first page can take the whole table,
+     * so an index read whose only condition on its leading column is a range then counts as a scan.
+     *
+     * @param plan           the plan printed by {@code EXPLAIN}
+     * @param leadingColumns the first column of every declared index, by index name
+     * @param substringMatch whether the statement filters rows with a {@code LIKE '%...'} match
+     * @return the access path, or null if every table is read through an index
+     */
+    private static String findScan(String plan, Map<String, String> leadingColumns, boolean substringMatch) {
+        Matcher matcher = ACCESS_PATH.matcher(plan);
+        while (matcher.find()) {
+            if (matcher.group(2) == null && matcher.group(4) != null) {
+                continue;
+            }
+            if (matcher.group(2) == null || matcher.group(2).equals(".tableScan")) {
+                return matcher.group();
+            }
+            String leading = leadingColumns.get(matcher.group(1));
+            if (leading == null || !Pattern.compile("\\b" + leading + "\\b").matcher(matcher.group(3)).find()) {
+                return matcher.group();
+            }
+            if (substringMatch && !Pattern.compile("\\b" + leading + " (=|IN\\()").matcher(matcher.group(3)).find()) {
+                return matcher.group();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,100 @@
+package project.education.roster;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Teacher;
+import project.education.repository.StudentRepository;
+import project.education.repository.TeacherRepository;
+import project.education.service.CourseService;
+import project.education.service.TaskService;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Imports small rosters with duplicates, broken records and records the database rejects,
+ * and checks what was created and reported.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:roster;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class RosterImportServiceTest {
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private RosterImportService importService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importsStudentsAndEnrollmentsAndReportsBrokenRecords() throws Exception {
+        long studentsBefore = studentRepository.count();
+        Teacher teacher = teacherRepository.save(new Teacher("Roster Teacher", "roster@example.com"));
+        Long math = courseService.saveCourse(new Course("Математика", teacher)).getId();
+        Long physics = courseService.saveCourse(new Course("Фізика", teacher)).getId();
+        Student existing = studentRepository.save(new Student("Наявний Студент", "existing@example.com"));
+
+        String roster = "name,email,course_ids\n"
+                + "\"Шевченко, Тарас\",taras@example.com," + math + ";" + physics + "\n"
+                + "Наявний Студент,existing@example.com," + math + "\n"
+                + "Тарас Дублікат,taras@example.com," + physics + "\n"
+                + ",noname@example.com," + math + "\n"
+                + "Без пошти,not-an-email," + math + "\n"
+                + "Олена,olena@example.com,999 abc\n"
+                + "\n"
+                + "Іван,ivan@example.com\n";
+        RosterImportReport report = importService.importRoster(new StringReader(roster));
+
+        assertEquals(7, report.getRowsRead());
+        assertEquals(3, report.getStudentsCreated());
+        assertEquals(2, report.getStudentsMatched());
+        assertEquals(3, report.getEnrollmentsCreated());
+        assertEquals(List.of(5L, 6L, 7L, 7L), report.getErrors().stream().map(RosterImportError::line).toList());
+
+        assertEquals(studentsBefore + 4, studentRepository.count());
+        assertEquals("Шевченко, Тарас", jdbcTemplate.queryForObject(
+                "SELECT name FROM student WHERE email = 'taras@example.com'", String.class));
+        assertEquals(2, taskService.getCourseProgress(math).enrolledCount());
+        assertEquals(1, taskService.getCourseProgress(physics).enrolledCount());
+
+        Student added = studentRepository.save(new Student("Після імпорту", "after@example.com"));
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM student", Long.class);
+        assertEquals(ids.size(), ids.stream().distinct().count());
+        assertNotEquals(existing.getId(), added.getId());
+    }
+
+    @Test
+    void reportsTheRowsTheDatabaseRejectsAndImportsTheRestOfTheChunk() throws Exception {
+        Teacher teacher = teacherRepository.save(new Teacher("Chunk Teacher", "chunk.roster@example.com"));
+        Long history = courseService.saveCourse(new Course("Історія", teacher)).getId();
+
+        String roster = "name,email,course_ids\n"
+                + "Перший,first.chunk@example.com," + history + "\n"
+                + "x".repeat(300) + ",long.chunk@example.com," + history + "\n"
+                + "Третій,third.chunk@example.com," + history + "\n";
+        RosterImportReport report = importService.importRoster(new StringReader(roster));
+
+        assertEquals(2, report.getStudentsCreated());
+        assertEquals(2, report.getEnrollmentsCreated());
+        assertEquals(List.of(3L), report.getErrors().stream().map(RosterImportError::line).toList());
+        assertEquals(2, taskService.getCourseProgress(history).enrolledCount());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student WHERE email = 'long.chunk@example.com'", Integer.class));
+    }
+}
@@ -0,0 +1,110 @@
+package project.education.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.education.dto.SearchHit;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.roster.RosterImportService;
+import project.education.service.CourseService;
+import project.education.service.StudentService;
+import project.education.service.TaskService;
+import project.education.service.TeacherService;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that records saved, deleted and imported through the existing paths are searchable
+ * by prefix and with typos, and that records changed behind the index are repaired by a rebuild.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class SearchServiceTest {
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private RosterImportService rosterImportService;
+    @Autowired
+    private SearchService searchService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findsRecordsByPrefixAndWithTypos() {
+        Teacher teacher = teacherService.saveTeacher(new Teacher("Ірина Поліщук", "polishchuk@example.com"));
+        Course course = courseService.saveCourse(new Course("Бази даних для початківців", teacher));
+        Task task = taskService.saveTask(new Task("Нормалізація", "Приведіть схему до третьої нормальної форми", course));
+        Student student = studentService.saveStudent(new Student("Тарас Шевченко", "taras.shevchenko@example.com"));
+
+        assertEquals(List.of(key(SearchDocumentType.STUDENT, student.getId())),
+                keys(searchService.search("Шевч", null, 10)));
+        assertEquals(List.of(key(SearchDocumentType.STUDENT, student.getId())),
+                keys(searchService.search("тарас шевчинко", null, 10)));
+        assertEquals(List.of(key(SearchDocumentType.STUDENT, student.getId())),
+                keys(searchService.search("taras.shevchenko@example.com", null, 10)));
+        assertEquals(List.of(key(SearchDocumentType.COURSE, course.getId())),
+                keys(searchService.search("бази дан", null, 10)));
+        assertEquals(List.of(key(SearchDocumentType.TASK, task.getId())),
+                keys(searchService.search("нормальної", SearchDocumentType.TASK, 10)));
+        assertEquals(List.of(key(SearchDocumentType.TEACHER, teacher.getId())),
+                keys(searchService.search("Поліщюк", null, 10)));
+        assertTrue(searchService.search("Шевч", SearchDocumentType.COURSE, 10).isEmpty());
+        assertTrue(searchService.search("  ", null, 10).isEmpty());
+
+        studentService.deleteStudent(student.getId());
+        assertTrue(searchService.search("Шевченко", null, 10).isEmpty());
+    }
+
+    @Test
+    void indexesImportedStudentsAndRebuildsFromTheDatabase() throws Exception {
+        rosterImportService.importRoster(new StringReader("name,email,course_ids\nОксана Мельник,oksana@example.com,\n"));
+        List<SearchHit> hits = searchService.search("мельн", SearchDocumentType.STUDENT, 10);
+        assertEquals(1, hits.size());
+        assertEquals("oksana@example.com", hits.get(0).detail());
+
+        searchService.rebuild();
+        assertEquals(1, searchService.search("оксана", SearchDocumentType.STUDENT, 10).size());
+        assertEquals(0, searchService.rebuildIfStale());
+    }
+
+    @Test
+    void rebuildsTypesWhoseTextChangedOutsideTheApplication() {
+        Student student = studentService.saveStudent(new Student("Богдан Кравець", "kravets@example.com"));
+        jdbcTemplate.update("UPDATE student SET name = 'Богдан Коваль' WHERE id = ?", student.getId());
+        Student removed = studentService.saveStudent(new Student("Зиновій Гайда", "haida@example.com"));
+        jdbcTemplate.update("DELETE FROM student WHERE id = ?", removed.getId());
+
+        assertEquals(1, searchService.rebuildIfStale());
+        assertEquals(List.of(key(SearchDocumentType.STUDENT, student.getId())),
+                keys(searchService.search("коваль", SearchDocumentType.STUDENT, 10)));
+        assertTrue(searchService.search("кравець", SearchDocumentType.STUDENT, 10).isEmpty());
+        assertTrue(searchService.search("гайда", SearchDocumentType.STUDENT, 10).isEmpty());
+        assertEquals(0, searchService.rebuildIfStale());
+    }
+
+    private static String key(SearchDocumentType type, long id) {
+        return type + ":" + id;
+    }
+
+    private static List<String> keys(List<SearchHit> hits) {
+        return hits.stream().map(hit -> key(hit.type(), hit.id())).toList();
+    }
+}
@@ -0,0 +1,39 @@
+package project.education.seed;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import project.education.model.Teacher;
+import project.education.service.TeacherService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that the generator leaves a database alone when any of the tables it fills already has rows,
+ * even if there are no students yet.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:data-generator;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class DataGeneratorTest {
+    @Autowired
+    private DataGenerator dataGenerator;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void skipsADatabaseWithTeachersButNoStudents() {
+        teacherService.saveTeacher(new Teacher("Ганна Лисенко", "lysenko.seed@example.com"));
+
+        assertFalse(dataGenerator.generate(SeedPlan.forStudents(200)));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM teacher", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM student", Integer.class));
+    }
+}
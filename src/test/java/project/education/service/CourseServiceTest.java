@@ -0,0 +1,48 @@
+package project.education.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.education.model.Course;
+import project.education.model.Teacher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that a course page loads the course and its teacher with one join query when they are not cached,
+ * and without any query once they are.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:course-service;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class CourseServiceTest {
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void loadsCourseWithTeacherInOneQueryOnACacheMiss() {
+        Teacher teacher = teacherService.saveTeacher(new Teacher("Олег Савчук", "savchuk.course@example.com"));
+        Course course = courseService.saveCourse(new Course("Топологія", teacher));
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertEquals("Олег Савчук", courseService.getCourseWithTeacher(course.getId()).getTeacher().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        assertEquals("Олег Савчук", courseService.getCourseWithTeacher(course.getId()).getTeacher().getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
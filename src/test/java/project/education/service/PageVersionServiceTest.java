@@ -0,0 +1,51 @@
+package project.education.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Teacher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Checks that the student page entity tag follows the catalog version: it changes when any course or teacher
+ * is written and stays the same otherwise.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:page-versions;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class PageVersionServiceTest {
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private PageVersionService pageVersionService;
+
+    @Test
+    void studentPageEtagChangesWithTheCatalog() {
+        Teacher teacher = teacherService.saveTeacher(new Teacher("Роман Бойко", "boiko.etag@example.com"));
+        Course course = courseService.saveCourse(new Course("Геометрія", teacher));
+        Student student = studentService.saveStudent(new Student("Дарина", "daryna.etag@example.com"));
+
+        String initial = pageVersionService.getStudentPageEtag(student.getId());
+        assertEquals(initial, pageVersionService.getStudentPageEtag(student.getId()));
+
+        course.setTitle("Аналітична геометрія");
+        courseService.saveCourse(course);
+        String renamedCourse = pageVersionService.getStudentPageEtag(student.getId());
+        assertNotEquals(initial, renamedCourse);
+
+        teacher.setName("Роман Бойко-Шевчук");
+        teacherService.saveTeacher(teacher);
+        assertNotEquals(renamedCourse, pageVersionService.getStudentPageEtag(student.getId()));
+    }
+}
@@ -0,0 +1,80 @@
+package project.education.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.education.model.Course;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.repository.ProgressRepository;
+import project.education.repository.SubmissionRepository;
+import project.education.repository.TeacherRepository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that reconciliation repairs a drifted counter without losing a submission
+ * whose transaction updates the same counter while the reconciliation runs.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reconcile;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class ProgressReconciliationJobTest {
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private SubmissionService submissionService;
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    @Autowired
+    private ProgressRepository progressRepository;
+    @Autowired
+    private ProgressReconciliationJob reconciliationJob;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void keepsIncrementsCommittedDuringReconciliation() throws Exception {
+        Teacher teacher = teacherRepository.save(new Teacher("Reconcile Teacher", "reconcile@example.com"));
+        Course course = courseService.saveCourse(new Course("Reconcile Course", teacher));
+        Task task = taskService.saveTask(new Task("Reconcile", "counter drift", course));
+        submissionService.submit(task.getId(), 1L, "перша");
+        submissionService.submit(task.getId(), 2L, "друга");
+        progressRepository.addCompleted(task.getId(), 3);
+
+        CountDownLatch incremented = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> submission = CompletableFuture.runAsync(
+                () -> transactionTemplate.executeWithoutResult(status -> {
+                    submissionRepository.insertIfAbsent(task.getId(), 3L, "третя");
+                    progressRepository.addCompleted(task.getId(), 1);
+                    incremented.countDown();
+                    try {
+                        commit.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertTrue(incremented.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> reconciliation = CompletableFuture.supplyAsync(reconciliationJob::reconcile);
+        Thread.sleep(200);
+        commit.countDown();
+        submission.get(5, TimeUnit.SECONDS);
+        reconciliation.get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, taskService.getCourseProgress(course.getId()).tasks().get(task.getId()).completedCount());
+    }
+}
@@ -0,0 +1,54 @@
+package project.education.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.education.dto.CourseSummary;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Teacher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the course title filter of the student page matches {@code %}, {@code _} and {@code \}
+ * literally instead of as wildcards.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:student-service;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class StudentServiceTest {
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void matchesWildcardCharactersOfTheTitleFilterLiterally() {
+        Teacher teacher = teacherService.saveTeacher(new Teacher("Андрій Ткач", "tkach.filter@example.com"));
+        courseService.saveCourse(new Course("Java на 100%", teacher));
+        courseService.saveCourse(new Course("Java на 1000 годин", teacher));
+        courseService.saveCourse(new Course("snake_case у Python", teacher));
+        courseService.saveCourse(new Course("snakeXcase у Python", teacher));
+        courseService.saveCourse(new Course("Шляхи C:\\Windows", teacher));
+        Student student = studentService.saveStudent(new Student("Ліна", "lina.filter@example.com"));
+
+        assertEquals(List.of("Java на 100%"), titles(student, "0%"));
+        assertEquals(List.of("snake_case у Python"), titles(student, "e_c"));
+        assertEquals(List.of("Шляхи C:\\Windows"), titles(student, ":\\w"));
+        assertEquals(2, titles(student, "java").size());
+    }
+
+    private List<String> titles(Student student, String filter) {
+        return studentService.getAvailableCoursesForStudent(student.getId(), null, filter, 10).getContent().stream()
+                .map(CourseSummary::title)
+                .toList();
+    }
+}
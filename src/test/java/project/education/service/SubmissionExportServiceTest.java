@@ -0,0 +1,84 @@
+package project.education.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.education.model.Course;
+import project.education.model.Student;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.repository.StudentRepository;
+import project.education.repository.TeacherRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the CSV and NDJSON answer exports of a task and a course.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class SubmissionExportServiceTest {
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private SubmissionService submissionService;
+    @Autowired
+    private SubmissionExportService exportService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsAnswersAsCsvAndNdjson() throws Exception {
+        Teacher teacher = teacherRepository.save(new Teacher("Export Teacher", "export@example.com"));
+        Course course = courseService.saveCourse(new Course("Export Course", teacher));
+        Task first = taskService.saveTask(new Task("Перше, з комою", "csv quoting", course));
+        Task second = taskService.saveTask(new Task("Друге", "second task", course));
+        Student anna = studentRepository.save(new Student("Анна", "anna@example.com"));
+        Student ivan = studentRepository.save(new Student("Іван", "ivan@example.com"));
+        submissionService.submit(first.getId(), anna.getId(), "відповідь \"в лапках\"\nз новим рядком");
+        submissionService.submit(first.getId(), ivan.getId(), "проста відповідь");
+        submissionService.submit(second.getId(), anna.getId(), "друга відповідь");
+
+        String csv = export(out -> exportService.exportTask(first.getId(), ExportFormat.CSV, out));
+        String[] lines = csv.split("\r\n");
+        assertEquals("task_id,task_title,student_id,student_name,answer,completed,submitted_at", lines[0]);
+        assertTrue(lines[1].startsWith(first.getId() + ",\"Перше, з комою\"," + anna.getId()
+                + ",Анна,\"відповідь \"\"в лапках\"\"\nз новим рядком\",true,"), lines[1]);
+        assertTrue(lines[2].startsWith(first.getId() + ",\"Перше, з комою\"," + ivan.getId()
+                + ",Іван,проста відповідь,true,"), lines[2]);
+        assertEquals(3, lines.length);
+
+        String ndjson = export(out -> exportService.exportCourse(course.getId(), ExportFormat.NDJSON, out));
+        String[] rows = ndjson.split("\n");
+        assertEquals(3, rows.length);
+        JsonNode last = objectMapper.readTree(rows[2]);
+        assertEquals(second.getId(), last.get("taskId").asLong());
+        assertEquals("Анна", last.get("studentName").asText());
+        assertEquals("друга відповідь", last.get("answer").asText());
+        assertFalse(last.get("submittedAt").isNumber());
+    }
+
+    private static String export(Consumer<ByteArrayOutputStream> export) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.accept(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,112 @@
+package project.education.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.education.model.Course;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.repository.CourseRepository;
+import project.education.repository.ProgressRepository;
+import project.education.repository.SubmissionBatchWriter;
+import project.education.repository.SubmissionRepository;
+import project.education.repository.TaskRepository;
+import project.education.repository.TeacherRepository;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares submit throughput of the synchronous one-transaction-per-request path
+ * with the write-behind ingestion pipeline, and checks that the pipeline is faster.
+ * The baseline is what a submit request did before the pipeline: load the task through {@link TaskService}
+ * to check it is active, then write the answer in its own transaction. The write itself is the single-row
+ * statement pair of the direct path, since the task's answer collections it used to rewrite no longer exist.
+ * Run with {@code gradle test -Dloadtest=true --tests '*SubmissionIngestLoadTest'}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingest-load;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.journal=build/ingest-load/submissions.journal",
+        "education.search.index-dir="
+})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class SubmissionIngestLoadTest {
+    private static final int THREADS = 32;
+    private static final int STUDENTS = 2000;
+    private static final int SUBMITS = 20_000;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    @Autowired
+    private ProgressRepository progressRepository;
+    @Autowired
+    private SubmissionBatchWriter batchWriter;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private SubmissionService submissionService;
+    @Autowired
+    private SubmissionIngestService ingestService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void writeBehindIngestionOutperformsPerRequestTransactions() throws Exception {
+        Teacher teacher = teacherRepository.save(new Teacher("Load Teacher", "load@example.com"));
+        Course course = courseRepository.save(new Course("Load Course", teacher));
+        Long directTaskId = taskRepository.save(new Task("Direct", "direct path", course)).getId();
+        Long ingestTaskId = taskRepository.save(new Task("Ingest", "write-behind path", course)).getId();
+
+        SubmissionService perRequest = new SubmissionService(submissionRepository, taskRepository, progressRepository,
+                new SubmissionIngestService(batchWriter, false, 1, 1, 1, 1, Path.of("build/ingest-load/unused"), false, "none"),
+                transactionTemplate);
+        double direct = measure(i -> {
+            Task task = taskService.getTaskById(directTaskId);
+            if (task != null && task.isActive()) {
+                perRequest.submit(directTaskId, (long) (i % STUDENTS), "answer " + i);
+            }
+        });
+        double ingest = measure(i -> submissionService.submit(ingestTaskId, (long) (i % STUDENTS), "answer " + i));
+
+        assertTrue(ingest > direct, String.format(
+                "write-behind batches: %.0f submits/s, per-request transactions: %.0f submits/s", ingest, direct));
+        assertEquals(STUDENTS, submissionRepository.findByTaskId(directTaskId).size());
+        assertEquals(STUDENTS, submissionRepository.findByTaskId(ingestTaskId).size());
+    }
+
+    private double measure(IntConsumer submit) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < SUBMITS; i++) {
+            int n = i;
+            futures.add(executor.submit(() -> submit.accept(n)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        while (ingestService.getBacklogSize() > 0) {
+            Thread.sleep(5);
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        return SUBMITS / (elapsed / 1e9);
+    }
+}
@@ -0,0 +1,105 @@
+package project.education.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.education.model.Course;
+import project.education.model.PendingSubmission;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.repository.SubmissionRepository;
+import project.education.repository.TeacherRepository;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the write-behind pipeline rejects answers that cannot be stored, writes acknowledged submissions
+ * even if their task is deactivated before the flush, and moves rows the database rejects and submissions
+ * to deleted tasks to the dead-letter journal instead of retrying or dropping them.
+ * Also checks that the pipeline cannot be enabled on a clustered instance.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingest;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.journal=" + SubmissionIngestServiceTest.JOURNAL,
+        "education.submissions.ingest.flush-interval-ms=20",
+        "education.search.index-dir="
+})
+class SubmissionIngestServiceTest {
+    static final String JOURNAL = "build/ingest-test/submissions.journal";
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private CourseService courseService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private SubmissionService submissionService;
+    @Autowired
+    private SubmissionIngestService ingestService;
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Test
+    void rejectsLongAnswersAndDeadLettersRejectedRows() throws Exception {
+        Teacher teacher = teacherRepository.save(new Teacher("Ingest Teacher", "ingest@example.com"));
+        Course course = courseService.saveCourse(new Course("Ingest Course", teacher));
+        Task task = taskService.saveTask(new Task("Ingest", "dead letters", course));
+        String tooLong = "x".repeat(300);
+
+        assertThrows(InvalidAnswerException.class, () -> submissionService.submit(task.getId(), 1L, tooLong));
+
+        ingestService.enqueue(task.getId(), 1L, "перша");
+        ingestService.enqueue(task.getId(), 2L, tooLong);
+        ingestService.enqueue(task.getId(), 3L, "третя");
+        awaitEmptyBacklog();
+        assertEquals(2, submissionRepository.findByTaskId(task.getId()).size());
+
+        assertTrue(submissionService.submit(task.getId(), 4L, "після відхиленої"));
+        awaitEmptyBacklog();
+        assertEquals(3, submissionRepository.findByTaskId(task.getId()).size());
+
+        List<PendingSubmission> deadLetters = new SubmissionJournal(Path.of(JOURNAL + ".dead"), false).readAll();
+        assertTrue(deadLetters.stream().anyMatch(s -> s.studentId() == 2L && s.answer().equals(tooLong)));
+    }
+
+    @Test
+    void keepsSubmissionsAcknowledgedBeforeTheirTaskWasDeactivatedOrDeleted() throws Exception {
+        Teacher teacher = teacherRepository.save(new Teacher("Guard Teacher", "guard@example.com"));
+        Course course = courseService.saveCourse(new Course("Guard Course", teacher));
+        Task inactive = taskService.saveTask(new Task("Inactive", "deactivated after acceptance", course));
+        Task deleted = taskService.saveTask(new Task("Deleted", "deleted after acceptance", course));
+
+        ingestService.enqueue(inactive.getId(), 5L, "до дедлайну");
+        taskService.deactivateTask(inactive.getId());
+        taskService.deleteTask(deleted.getId());
+        ingestService.enqueue(deleted.getId(), 5L, "до видалення");
+        awaitEmptyBacklog();
+
+        assertEquals(1, submissionRepository.findByTaskId(inactive.getId()).size());
+        assertEquals(1, taskService.getCourseProgress(course.getId()).tasks().get(inactive.getId()).completedCount());
+        assertTrue(submissionRepository.findByTaskId(deleted.getId()).isEmpty());
+        List<PendingSubmission> deadLetters = new SubmissionJournal(Path.of(JOURNAL + ".dead"), false).readAll();
+        assertTrue(deadLetters.stream().anyMatch(s -> s.taskId().equals(deleted.getId()) && s.studentId() == 5L));
+    }
+
+    @Test
+    void refusesToQueueSubmissionsOnAClusteredInstance() {
+        assertThrows(IllegalArgumentException.class, () -> new SubmissionIngestService(null, true, 1, 1, 1, 1,
+                Path.of(JOURNAL), false, "udp"));
+    }
+
+    private void awaitEmptyBacklog() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ingestService.getBacklogSize() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "the backlog is not flushed");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package project.education.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import project.education.model.PendingSubmission;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that journal segments are deleted once their entries are written, while later entries are kept
+ * and replayed after a restart.
+ */
+class SubmissionJournalTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void releasesWrittenSegmentsAndReplaysTheRest() throws Exception {
+        Path path = directory.resolve("submissions.journal");
+        try (SubmissionJournal journal = new SubmissionJournal(path, true)) {
+            for (long student = 1; student <= 3; student++) {
+                journal.sync(journal.append(submission(student)));
+            }
+            journal.rotate();
+            for (long student = 4; student <= 5; student++) {
+                journal.sync(journal.append(submission(student)));
+            }
+            journal.rotate();
+            journal.sync(journal.append(submission(6)));
+
+            journal.release(4);
+            assertFalse(Files.exists(path.resolveSibling("submissions.journal.1")));
+            assertTrue(Files.exists(path.resolveSibling("submissions.journal.2")));
+        }
+
+        try (SubmissionJournal reopened = new SubmissionJournal(path, true)) {
+            List<Long> students = reopened.readAll().stream().map(PendingSubmission::studentId).toList();
+            assertEquals(List.of(4L, 5L, 6L), students);
+            reopened.truncate();
+            assertTrue(reopened.readAll().isEmpty());
+            assertFalse(Files.exists(path.resolveSibling("submissions.journal.2")));
+        }
+    }
+
+    private static PendingSubmission submission(long studentId) {
+        return new PendingSubmission(1L, studentId, "answer " + studentId, Instant.now());
+    }
+}
@@ -0,0 +1,17 @@
+package project.education.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs the writers of {@link TaskConcurrencyStressTest} with the write-behind pipeline enabled,
+ * so the latest answer must also win when answers are journaled and written in batches.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-ingest-stress;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.journal=build/ingest-stress/submissions.journal",
+        "education.submissions.ingest.flush-interval-ms=20",
+        "education.search.index-dir="
+})
+class TaskConcurrencyIngestStressTest extends TaskConcurrencyStressTest {
+}
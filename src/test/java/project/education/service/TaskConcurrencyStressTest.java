@@ -0,0 +1,137 @@
+package project.education.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import project.education.model.Course;
+import project.education.model.Submission;
+import project.education.model.Task;
+import project.education.model.Teacher;
+import project.education.dto.TaskProgressRow;
+import project.education.repository.CourseRepository;
+import project.education.repository.SubmissionRepository;
+import project.education.repository.TaskRepository;
+import project.education.repository.TeacherRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs 64 parallel writers against one task: half toggle its active flag, half submit answers
+ * for a small set of students, four writers per student, so submissions also race on the same rows.
+ * No toggle may be lost, every stored answer must be one that was acknowledged to its writer,
+ * no answer acknowledged before another one for the same student was submitted may overwrite it,
+ * and the completion counter of the task must match the stored submissions.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-stress;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "education.submissions.ingest.enabled=false",
+        "education.search.index-dir="
+})
+class TaskConcurrencyStressTest {
+    private static final int WRITERS = 64;
+    private static final int OPERATIONS = 50;
+    private static final int STUDENTS = 8;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private SubmissionRepository submissionRepository;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private SubmissionService submissionService;
+    @Autowired
+    private SubmissionIngestService ingestService;
+
+    @Test
+    void noUpdateIsLostUnderParallelWriters() throws Exception {
+        Teacher teacher = teacherRepository.save(new Teacher("Stress Teacher", "stress@example.com"));
+        Course course = courseRepository.save(new Course("Stress Course", teacher));
+        Task task = taskService.saveTask(new Task("Stress", "parallel writers", course));
+        long initialVersion = task.getVersion();
+
+        AtomicLong clock = new AtomicLong();
+        Map<Long, List<Acknowledgement>> accepted = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int id = writer;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    if (id % 2 == 0) {
+                        if (i % 2 == 0) {
+                            taskService.deactivateTask(task.getId());
+                        } else {
+                            taskService.activateTask(task.getId());
+                        }
+                    } else {
+                        long studentId = (id / 2) % STUDENTS;
+                        String answer = "writer " + id + " answer " + i;
+                        long submitted = clock.incrementAndGet();
+                        if (submissionService.submit(task.getId(), studentId, answer)) {
+                            accepted.computeIfAbsent(studentId, key -> new CopyOnWriteArrayList<>())
+                                    .add(new Acknowledgement(answer, submitted, clock.incrementAndGet()));
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        awaitEmptyBacklog();
+
+        int toggles = WRITERS / 2 * OPERATIONS;
+        assertEquals(initialVersion + toggles, taskRepository.findById(task.getId()).orElseThrow().getVersion());
+        List<Submission> stored = submissionRepository.findByTaskId(task.getId());
+        assertEquals(accepted.size(), stored.size());
+        for (Submission submission : stored) {
+            List<Acknowledgement> acknowledged = accepted.get(submission.getStudentId());
+            Acknowledgement kept = acknowledged.stream()
+                    .filter(a -> a.answer().equals(submission.getAnswer()))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError(
+                            "stored answer was never acknowledged: " + submission.getAnswer()));
+            for (Acknowledgement later : acknowledged) {
+                assertFalse(later.submitted() > kept.acknowledged(),
+                        "'" + later.answer() + "' was lost to the earlier '" + kept.answer() + "'");
+            }
+        }
+        TaskProgressRow progress = taskService.getCourseProgress(course.getId()).tasks().get(task.getId());
+        assertEquals(stored.size(), progress.completedCount());
+    }
+
+    private void awaitEmptyBacklog() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (ingestService.getBacklogSize() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "the backlog is not flushed");
+            Thread.sleep(10);
+        }
+    }
+
+    private record Acknowledgement(String answer, long submitted, long acknowledged) {
+    }
+}